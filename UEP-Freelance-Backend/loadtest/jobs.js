@@ -0,0 +1,92 @@
+// k6 load test for comparing platform-thread and virtual-thread request handling.
+// Mixes the blocking paths: JDBC reads, BCrypt logins and a job post that queues email.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform loadtest/jobs.js
+//
+// See loadtest/README.md for the full procedure.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    browse: {
+      executor: 'ramping-arrival-rate',
+      exec: 'browse',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { target: 200, duration: '30s' },
+        { target: 800, duration: '1m' },
+        { target: 800, duration: '2m' },
+      ],
+    },
+    login: {
+      executor: 'constant-arrival-rate',
+      exec: 'login',
+      rate: 20,
+      timeUnit: '1s',
+      duration: '3m30s',
+      preAllocatedVUs: 50,
+      maxVUs: 500,
+    },
+    post: {
+      executor: 'constant-arrival-rate',
+      exec: 'post',
+      rate: 5,
+      timeUnit: '1s',
+      duration: '3m30s',
+      preAllocatedVUs: 20,
+      maxVUs: 200,
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function token(email) {
+  const res = http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ email: email, password: 'password123' }),
+    { headers: { 'Content-Type': 'application/json' }, tags: { name: 'login' } });
+  return res.status === 200 ? res.json('token') : null;
+}
+
+export function setup() {
+  return { client: token('client@uep.edu.ph') };
+}
+
+export function browse() {
+  const page = http.get(`${BASE_URL}/api/jobs?limit=20&detail=true`, { tags: { name: 'jobs-page' } });
+  check(page, { 'jobs page 200': (r) => r.status === 200 });
+  const search = http.get(`${BASE_URL}/api/jobs/search?keyword=web`, { tags: { name: 'search' } });
+  check(search, { 'search 200': (r) => r.status === 200 });
+}
+
+export function login() {
+  check(token('student@uep.edu.ph'), { 'login ok': (t) => t !== null });
+}
+
+export function post(data) {
+  const res = http.post(`${BASE_URL}/api/jobs`, JSON.stringify({
+    title: `Load test job ${__VU}-${__ITER}`,
+    description: 'Created by the k6 load test',
+    budget: 1500,
+    deadline: '2030-01-01',
+    category: 'Web Development',
+    skillsRequired: 'React, Java',
+  }), {
+    headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${data.client}` },
+    tags: { name: 'post-job' },
+  });
+  check(res, { 'job created': (r) => r.status === 201 });
+}
+
+export function handleSummary(data) {
+  const mode = __ENV.MODE || 'unknown';
+  return { [`loadtest/results-${mode}.json`]: JSON.stringify(data, null, 2) };
+}
@@ -0,0 +1,18 @@
+package com.benchmark;
+
+/** Deterministic filler text for benchmark payloads. */
+public final class BenchmarkText {
+
+    private static final String WORDS = "java spring design writing marketing mobile data web ";
+
+    private BenchmarkText() {
+    }
+
+    public static String of(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(WORDS, 0, Math.min(WORDS.length(), length - sb.length()));
+        }
+        return sb.toString();
+    }
+}
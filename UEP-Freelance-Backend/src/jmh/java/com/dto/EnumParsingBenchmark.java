@@ -0,0 +1,58 @@
+package com.dto;
+
+import com.controller.PaymentMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tolerant enum parsers that sit on the Jackson {@code @JsonCreator} path for
+ * every job and payment payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnumParsingBenchmark {
+
+    // How the client spelled the value
+    @Param({"constant", "display", "loose"})
+    private String spelling;
+
+    private String category;
+    private String paymentMethod;
+
+    @Setup
+    public void setUp() {
+        switch (spelling) {
+            case "constant":
+                category = "DATA_SCIENCE";
+                paymentMethod = "BANK_TRANSFER";
+                break;
+            case "display":
+                category = "Data Science";
+                paymentMethod = "Bank Transfer";
+                break;
+            default:
+                category = "  data-science ";
+                paymentMethod = " bank - transfer";
+                break;
+        }
+    }
+
+    @Benchmark
+    public JobCategory jobCategory() {
+        return JobCategory.fromString(category);
+    }
+
+    @Benchmark
+    public PaymentMethod paymentMethod() {
+        return PaymentMethod.fromString(paymentMethod);
+    }
+}
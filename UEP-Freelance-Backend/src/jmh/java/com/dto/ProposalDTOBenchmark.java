@@ -0,0 +1,73 @@
+package com.dto;
+
+import com.model.Job;
+import com.model.JobStatus;
+import com.model.Proposal;
+import com.model.ProposalStatus;
+import com.model.User;
+import com.model.UserRole;
+import com.benchmark.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ProposalDTO#fromModel(Proposal)}, which also builds the nested job
+ * and freelancer DTOs, as cover letter and job description grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProposalDTOBenchmark {
+
+    // Length of cover letter and job description, in characters
+    @Param({"64", "1024", "2000"})
+    private int payloadSize;
+
+    private Proposal proposal;
+
+    @Setup
+    public void setUp() {
+        User freelancer = new User();
+        freelancer.setId(3L);
+        freelancer.setEmail("student@uep.edu.ph");
+        freelancer.setFirstName("Student");
+        freelancer.setLastName("User");
+        freelancer.setRole(UserRole.STUDENT);
+        freelancer.setSkills("Web Development, Graphic Design");
+
+        Job job = new Job();
+        job.setId(11L);
+        job.setTitle("Build a landing page");
+        job.setDescription(BenchmarkText.of(payloadSize));
+        job.setBudget(new BigDecimal("15000.00"));
+        job.setDeadline(LocalDateTime.now().plusDays(14));
+        job.setStatus(JobStatus.OPEN);
+        job.setCategory("Web Development");
+        job.setCreatedAt(LocalDateTime.now());
+
+        proposal = new Proposal();
+        proposal.setId(21L);
+        proposal.setCoverLetter(BenchmarkText.of(payloadSize));
+        proposal.setProposedAmount(new BigDecimal("12000.00"));
+        proposal.setEstimatedDays(10);
+        proposal.setStatus(ProposalStatus.PENDING);
+        proposal.setSubmittedAt(LocalDateTime.now());
+        proposal.setJob(job);
+        proposal.setFreelancer(freelancer);
+    }
+
+    @Benchmark
+    public ProposalDTO fromModel() {
+        return ProposalDTO.fromModel(proposal);
+    }
+}
@@ -0,0 +1,82 @@
+package com.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of validating a bearer token: the old three-parse path versus
+ * {@link JwtUtil#verify(String)} with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    // Length of the subject claim, which drives the token size
+    @Param({"24", "256"})
+    private int subjectLength;
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil(SECRET, 3_600_000L, false, 4096);
+        uncached = new JwtUtil(SECRET, 3_600_000L, false, 0);
+        String local = "s".repeat(Math.max(1, subjectLength - "@uep.edu.ph".length()));
+        user = new User(local + "@uep.edu.ph", "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_STUDENT")));
+        token = cached.generateToken(user, 42L, "STUDENT", 0);
+    }
+
+    // What validateToken cost before: extractUsername + isTokenExpired, each rebuilding key and parser
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return username.equals(legacyClaims(token).getSubject()) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParseValidate() {
+        return uncached.validateToken(token, user);
+    }
+
+    @Benchmark
+    public boolean cachedValidate() {
+        return cached.validateToken(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(user, 42L, "STUDENT", 0);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
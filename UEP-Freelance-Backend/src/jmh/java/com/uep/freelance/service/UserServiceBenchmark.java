@@ -0,0 +1,56 @@
+package com.uep.freelance.service;
+
+import com.benchmark.BenchmarkText;
+import com.dto.UserDTO;
+import com.model.User;
+import com.model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link UserService#convertToDTO(User)} as the free-text profile fields grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserServiceBenchmark {
+
+    // Length of bio and skills, in characters
+    @Param({"16", "256", "4096"})
+    private int payloadSize;
+
+    private UserService userService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // convertToDTO does not touch the injected collaborators
+        userService = new UserService();
+
+        user = new User();
+        user.setId(7L);
+        user.setEmail("student@uep.edu.ph");
+        user.setFirstName("Student");
+        user.setLastName("User");
+        user.setRole(UserRole.STUDENT);
+        user.setPhone("09170000000");
+        user.setSkills(BenchmarkText.of(payloadSize));
+        user.setBio(BenchmarkText.of(payloadSize));
+        user.setCompany("UEP");
+        user.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public UserDTO convertToDTO() {
+        return userService.convertToDTO(user);
+    }
+}
@@ -2,15 +2,20 @@ package com.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import com.dto.AuthRequest;
 import com.dto.AuthResponse;
+import com.dto.RefreshRequest;
+import com.security.AuthBusyException;
+import com.security.AuthRateLimiter;
 import com.service.AuthService;
 import java.time.Instant; 
 
@@ -22,16 +27,21 @@ public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     private final AuthService authService;
+    private final AuthRateLimiter rateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, AuthRateLimiter rateLimiter) {
         this.authService = authService;
+        this.rateLimiter = rateLimiter;
     }
 
     @PostMapping(value = "/register", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> register(@Valid @RequestBody AuthRequest request) {
+    public ResponseEntity<?> register(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = authService.register(request);
+            rateLimiter.checkEmail(AuthRateLimiter.REGISTER, request.getEmail());
+            AuthResponse response = authService.register(request, httpRequest.getRemoteAddr());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (AuthBusyException e) {
+            return tooManyRequests(e);
         } catch (IllegalArgumentException | AuthenticationException | RuntimeException e) {
             logger.warn("Registration failed for email {}: {}", request.getEmail(), e.getMessage());
             return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
@@ -42,10 +52,13 @@ public class AuthController {
     }
 
     @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = authService.authenticate(request);
+            rateLimiter.checkEmail(AuthRateLimiter.LOGIN, request.getEmail());
+            AuthResponse response = authService.authenticate(request, httpRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
+        } catch (AuthBusyException e) {
+            return tooManyRequests(e);
         } catch (AuthenticationException e) {
             logger.warn("Authentication failed for email {}: {}", request.getEmail(), e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
@@ -58,6 +71,41 @@ public class AuthController {
         }
     }
 
+    @PostMapping(value = "/refresh", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest request) {
+        try {
+            AuthResponse response = authService.refresh(request.getRefreshToken());
+            return ResponseEntity.ok(response);
+        } catch (AuthenticationException e) {
+            logger.warn("Token refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Unexpected error during token refresh", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
+    // Revokes the refresh session and the bearer token, if either is given; always 204
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshRequest request,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+            authService.logout(request != null ? request.getRefreshToken() : null, accessToken);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            logger.error("Unexpected error during logout", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
+    // Hashing pool or concurrency limit saturated: shed the request instead of queueing it
+    private ResponseEntity<?> tooManyRequests(AuthBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+    }
+
     // Simple structured error payload
     private static class ApiError {
         private final String message;
@@ -3,16 +3,29 @@ package com.controller;  // Fixed package path
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import com.dto.BulkCreateResult;
+import com.dto.CursorPage;
 import com.dto.JobDTO;
+import com.dto.JobSummary;
+import com.dto.VersionStamp;
 import com.model.JobStatus;
+import com.service.CollectionVersions;
 import com.service.JobService;
+import com.service.OpenJobsFeed;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.time.Instant; 
@@ -26,9 +39,13 @@ public class JobController {
     private static final Logger logger = LoggerFactory.getLogger(JobController.class);
 
     private final JobService jobService;
+    private final OpenJobsFeed openJobsFeed;
+    private final CollectionVersions collectionVersions;
 
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, OpenJobsFeed openJobsFeed, CollectionVersions collectionVersions) {
         this.jobService = jobService;
+        this.openJobsFeed = openJobsFeed;
+        this.collectionVersions = collectionVersions;
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -45,11 +62,43 @@ public class JobController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createJobs(@RequestBody List<@Valid JobDTO> jobDTOs) {
+        try {
+            BulkCreateResult result = jobService.createJobs(jobDTOs);
+            logger.info("Imported {} jobs", result.getCreated());
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to import jobs: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Unexpected error importing jobs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> getAllJobs() {
+    public ResponseEntity<?> getAllJobs(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(defaultValue = "false") boolean detail,
+                                        WebRequest request) {
         try {
-            List<JobDTO> jobs = jobService.getAllJobs();
-            return ResponseEntity.ok(jobs);
+            // Answer polling clients with 304 before anything is loaded or converted
+            if (request.checkNotModified(collectionVersions.jobsEtag("jobs|" + cursor + "|" + limit + "|" + detail))) {
+                return null;
+            }
+            // Paginate when the client asks for it; otherwise keep returning the whole list.
+            // Lists are summaries (description cut to a snippet) unless detail=true
+            if (cursor != null || limit != null) {
+                int pageSize = CursorPage.resolveLimit(limit);
+                return ResponseEntity.ok(detail
+                        ? jobService.getJobsPage(cursor, pageSize)
+                        : jobService.getJobSummariesPage(cursor, pageSize));
+            }
+            return ResponseEntity.ok(detail ? jobService.getAllJobs() : jobService.getJobSummaries());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid job page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
         } catch (Exception e) {
             logger.error("Error fetching all jobs", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
@@ -57,19 +106,73 @@ public class JobController {
     }
 
     @GetMapping(value = "/open", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> getOpenJobs() {
+    public ResponseEntity<?> getOpenJobs(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(defaultValue = "false") boolean detail,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                         WebRequest request) {
         try {
-            List<JobDTO> jobs = jobService.getOpenJobs();
-            return ResponseEntity.ok(jobs);
+            if (cursor == null && limit == null && !detail) {
+                // The common landing-page request is answered from the precomputed feed
+                OpenJobsFeed.Snapshot feed = openJobsFeed.current();
+                if (feed.matches(ifNoneMatch)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                            .eTag(feed.getStrongEtag())
+                            .cacheControl(CacheControl.noCache())
+                            .build();
+                }
+                return ResponseEntity.ok()
+                        .eTag(feed.getStrongEtag())
+                        .cacheControl(CacheControl.noCache())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(feed.getBody());
+            }
+            if (request.checkNotModified(collectionVersions.jobsEtag("open|" + cursor + "|" + limit + "|" + detail))) {
+                return null;
+            }
+            if (cursor != null || limit != null) {
+                int pageSize = CursorPage.resolveLimit(limit);
+                return ResponseEntity.ok(detail
+                        ? jobService.getOpenJobsPage(cursor, pageSize)
+                        : jobService.getOpenJobSummariesPage(cursor, pageSize));
+            }
+            return ResponseEntity.ok(jobService.getOpenJobs());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid open job page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
         } catch (Exception e) {
             logger.error("Error fetching open jobs", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
         }
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportJobs() {
+        // Rows are written as they are read, so the response never holds the whole table
+        StreamingResponseBody body = out -> {
+            long count = jobService.exportJobs(out);
+            logger.info("Exported {} jobs", count);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/recommended", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getRecommendedJobs(@RequestParam(defaultValue = "20") @Positive @Max(100) int limit) {
+        try {
+            return ResponseEntity.ok(jobService.getRecommendedJobs(limit));
+        } catch (Exception e) {
+            logger.error("Error recommending jobs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> getJobById(@PathVariable @Positive Long id) {
+    public ResponseEntity<?> getJobById(@PathVariable @Positive Long id, WebRequest request) {
         try {
+            VersionStamp version = jobService.getJobVersion(id);
+            if (!version.isEmpty() && request.checkNotModified(version.etag("job|" + id), version.lastModifiedMillis())) {
+                return null;
+            }
             JobDTO job = jobService.getJobById(id);
             return ResponseEntity.ok(job);
         } catch (NoSuchElementException e) {
@@ -81,6 +184,20 @@ public class JobController {
         }
     }
 
+    @GetMapping(value = "/{id}/candidates", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getCandidates(@PathVariable @Positive Long id,
+                                           @RequestParam(defaultValue = "20") @Positive @Max(100) int limit) {
+        try {
+            return ResponseEntity.ok(jobService.getCandidates(id, limit));
+        } catch (NoSuchElementException e) {
+            logger.warn("Cannot rank candidates, job not found: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError("Job not found", Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Error ranking candidates for job {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
     @GetMapping(value = "/my-jobs", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> getMyJobs() {
         try {
@@ -94,10 +211,32 @@ public class JobController {
 
     @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> searchJobs(@RequestParam(required = false) String keyword,
-                                        @RequestParam(required = false) String category) {
+                                        @RequestParam(required = false) String category,
+                                        @RequestParam(defaultValue = "false") boolean ranked,
+                                        @RequestParam(required = false) BigDecimal budgetMin,
+                                        @RequestParam(required = false) BigDecimal budgetMax,
+                                        @RequestParam(defaultValue = "20") @Positive @Max(100) int limit,
+                                        @RequestParam(defaultValue = "false") boolean detail,
+                                        WebRequest request) {
         try {
-            List<JobDTO> jobs = jobService.searchJobs(keyword, category);
+            String variant = "search|" + keyword + "|" + category + "|" + ranked + "|" + budgetMin + "|" + budgetMax
+                    + "|" + limit + "|" + detail;
+            if (request.checkNotModified(collectionVersions.jobsEtag(variant))) {
+                return null;
+            }
+            if (detail) {
+                List<JobDTO> jobs = ranked
+                        ? jobService.rankedSearch(keyword, category, budgetMin, budgetMax, limit)
+                        : jobService.searchJobs(keyword, category);
+                return ResponseEntity.ok(jobs);
+            }
+            List<JobSummary> jobs = ranked
+                    ? jobService.rankedSearchSummaries(keyword, category, budgetMin, budgetMax, limit)
+                    : jobService.searchJobSummaries(keyword, category);
             return ResponseEntity.ok(jobs);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid job search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
         } catch (Exception e) {
             logger.error("Error searching jobs", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
@@ -115,6 +254,9 @@ public class JobController {
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid status update for job {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (OptimisticLockingFailureException e) {
+            logger.info("Concurrent status update for job {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiError("Job was changed concurrently, please retry", Instant.now().toEpochMilli()));
         } catch (Exception e) {
             logger.error("Error updating job status {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
@@ -132,6 +274,9 @@ public class JobController {
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid job update for {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (OptimisticLockingFailureException e) {
+            logger.info("Concurrent update for job {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiError("Job was changed concurrently, please retry", Instant.now().toEpochMilli()));
         } catch (Exception e) {
             logger.error("Error updating job {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
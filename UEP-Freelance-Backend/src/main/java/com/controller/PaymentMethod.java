@@ -2,6 +2,11 @@ package com.controller;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.dto.EnumAliases;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Supported payment methods.
@@ -27,26 +32,43 @@ public enum PaymentMethod {
         return value;
     }
 
+    // Every accepted spelling -> method, built once so parsing needs no regex or scan
+    private static final Map<String, PaymentMethod> LOOKUP = new HashMap<>();
+    private static final String SUPPORTED;
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (PaymentMethod m : values()) {
+            register(m, m.name());
+            register(m, m.value);
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(m.value);
+        }
+        SUPPORTED = sb.toString();
+    }
+
+    private static void register(PaymentMethod m, String alias) {
+        LOOKUP.put(alias, m);
+        LOOKUP.put(alias.toLowerCase(Locale.ROOT), m);
+        LOOKUP.put(EnumAliases.fold(alias), m);
+    }
+
     @JsonCreator
     public static PaymentMethod fromString(String s) {
-        if (s == null || s.trim().isEmpty()) {
+        if (s == null || s.isBlank()) {
             throw new IllegalArgumentException("Payment method must be provided");
         }
-        String normalized = s.trim().toUpperCase().replaceAll("[\s-]+", "_");
-        for (PaymentMethod m : values()) {
-            if (m.name().equalsIgnoreCase(normalized) || m.value.equalsIgnoreCase(normalized)) {
-                return m;
-            }
+        PaymentMethod m = LOOKUP.get(s);
+        if (m == null) {
+            m = LOOKUP.get(EnumAliases.fold(s));
         }
-        throw new IllegalArgumentException("Unknown payment method: '" + s + "'. Supported values: " + supported());
+        if (m == null) {
+            throw new IllegalArgumentException("Unknown payment method: '" + s + "'. Supported values: " + supported());
+        }
+        return m;
     }
 
     public static String supported() {
-        StringBuilder sb = new StringBuilder();
-        for (PaymentMethod m : values()) {
-            if (sb.length() > 0) sb.append(", ");
-            sb.append(m.value);
-        }
-        return sb.toString();
+        return SUPPORTED;
     }
 }
@@ -0,0 +1,141 @@
+package com.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.validation.constraints.Positive;
+import com.dto.CursorPage;
+import com.dto.ProposalDTO;
+import com.service.CollectionVersions;
+import com.service.ProposalService;
+import java.util.NoSuchElementException;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/proposals")
+@CrossOrigin(origins = "*")
+@Validated
+public class ProposalController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalController.class);
+
+    private final ProposalService proposalService;
+    private final CollectionVersions collectionVersions;
+
+    public ProposalController(ProposalService proposalService, CollectionVersions collectionVersions) {
+        this.proposalService = proposalService;
+        this.collectionVersions = collectionVersions;
+    }
+
+    @GetMapping(value = "/my", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getMyProposals(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            WebRequest request) {
+        try {
+            String variant = "my|" + request.getRemoteUser() + "|" + cursor + "|" + limit;
+            if (request.checkNotModified(collectionVersions.proposalsEtag(variant))) {
+                return null;
+            }
+            return ResponseEntity.ok(proposalService.getMyProposalsPage(cursor, CursorPage.resolveLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid proposal page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Error fetching own proposals", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
+    @GetMapping(value = "/received", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getReceivedProposals(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest request) {
+        try {
+            String variant = "received|" + request.getRemoteUser() + "|" + cursor + "|" + limit;
+            if (request.checkNotModified(collectionVersions.proposalsEtag(variant))) {
+                return null;
+            }
+            return ResponseEntity.ok(proposalService.getReceivedProposalsPage(cursor, CursorPage.resolveLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid proposal page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Error fetching received proposals", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
+    @GetMapping(value = "/job/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getProposalsByJob(@PathVariable @Positive Long jobId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit,
+                                               WebRequest request) {
+        try {
+            if (request.checkNotModified(collectionVersions.proposalsEtag("job|" + jobId + "|" + cursor + "|" + limit))) {
+                return null;
+            }
+            return ResponseEntity.ok(proposalService.getProposalsByJobPage(jobId, cursor, CursorPage.resolveLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid proposal page request for job {}: {}", jobId, e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (NoSuchElementException e) {
+            logger.warn("Job not found when listing proposals: {}", jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError("Job not found", Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Error fetching proposals for job {}", jobId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
+    @PostMapping(value = "/{id}/accept", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> acceptProposal(@PathVariable @Positive Long id) {
+        try {
+            ProposalDTO accepted = proposalService.acceptProposal(id);
+            return ResponseEntity.ok(accepted);
+        } catch (NoSuchElementException e) {
+            logger.warn("Cannot accept, proposal not found: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError("Proposal not found", Instant.now().toEpochMilli()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiError(e.getMessage(), Instant.now().toEpochMilli()));
+        } catch (IllegalStateException | ConcurrencyFailureException e) {
+            // Someone else accepted, withdrew or changed it first
+            logger.info("Conflict accepting proposal {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiError(
+                    e instanceof IllegalStateException ? e.getMessage() : "Proposal was changed concurrently, please retry",
+                    Instant.now().toEpochMilli()));
+        } catch (Exception e) {
+            logger.error("Error accepting proposal {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiError("Internal server error", Instant.now().toEpochMilli()));
+        }
+    }
+
+    // Simple structured error payload
+    private static class ApiError {
+        private final String message;
+        private final long timestamp;
+
+        public ApiError(String message, long timestamp) {
+            this.message = message;
+            this.timestamp = timestamp;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
@@ -25,8 +25,11 @@ public class AuthResponse {
     /** Optional epoch milliseconds when the token expires. */
     private Long expiresAt;
 
+    /** Opaque token for POST /api/auth/refresh; single use, replaced on every refresh. */
+    private String refreshToken;
+
     // Backward-compatible convenience constructor used in existing code paths
     public AuthResponse(String token, String email, String firstName, String lastName, String role, Long userId) {
-        this(token, email, firstName, lastName, role, userId, Instant.now().toEpochMilli(), null);
+        this(token, email, firstName, lastName, role, userId, Instant.now().toEpochMilli(), null, null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were written and their ids, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResult {
+
+    // Largest batch accepted by one bulk request
+    public static final int MAX_ITEMS = 5000;
+
+    private int created;
+    private List<Long> ids;
+}
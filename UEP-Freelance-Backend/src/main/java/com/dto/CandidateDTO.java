@@ -0,0 +1,24 @@
+package com.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A student ranked as a possible freelancer for a job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateDTO {
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String skills;
+    private Double rating;
+    private Integer completedJobs;
+    private Integer totalJobs;
+    // Number of the job's skills the student has
+    private int matchedSkills;
+    private double score;
+}
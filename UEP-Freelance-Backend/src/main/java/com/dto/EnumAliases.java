@@ -0,0 +1,39 @@
+package com.dto;
+
+/**
+ * Spelling normalization shared by the tolerant enum parsers
+ * ({@link JobCategory#fromString(String)}, {@code PaymentMethod.fromString}).
+ */
+public final class EnumAliases {
+
+    private EnumAliases() {
+    }
+
+    /**
+     * Trim, upper-case and collapse each run of whitespace and dashes into a single
+     * underscore, so "web - development" becomes "WEB_DEVELOPMENT". Equivalent to
+     * {@code s.trim().toUpperCase().replaceAll("[\\s-]+", "_")} without the regex.
+     */
+    public static String fold(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && Character.isWhitespace(s.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(s.charAt(end - 1))) end--;
+
+        StringBuilder sb = new StringBuilder(end - start);
+        boolean inSeparator = false;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '-' || Character.isWhitespace(c)) {
+                if (!inSeparator) {
+                    sb.append('_');
+                    inSeparator = true;
+                }
+            } else {
+                sb.append(Character.toUpperCase(c));
+                inSeparator = false;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -3,6 +3,10 @@ package com.dto;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Job categories used across the application.
  * Provides a tolerant parser and friendly display names for JSON.
@@ -32,29 +36,48 @@ public enum JobCategory {
         return name();
     }
 
+    // Every accepted spelling -> category, built once so parsing needs no regex or scan
+    private static final Map<String, JobCategory> LOOKUP = new HashMap<>();
+    private static final String SUPPORTED;
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (JobCategory c : values()) {
+            register(c, c.name());
+            register(c, c.displayName);
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(c.displayName);
+        }
+        SUPPORTED = sb.toString();
+    }
+
+    private static void register(JobCategory c, String alias) {
+        LOOKUP.put(alias, c);
+        LOOKUP.put(alias.toUpperCase(Locale.ROOT), c);
+        LOOKUP.put(alias.toLowerCase(Locale.ROOT), c);
+        LOOKUP.put(EnumAliases.fold(alias), c);
+    }
+
     /**
      * Tolerant parser that accepts case-insensitive names, display names, and common variants.
+     * Common spellings are a single hash lookup; anything else is folded first.
      */
     @JsonCreator
     public static JobCategory fromString(String s) {
-        if (s == null || s.trim().isEmpty()) {
+        if (s == null || s.isBlank()) {
             throw new IllegalArgumentException("Job category must be provided");
         }
-        String normalized = s.trim().toUpperCase().replaceAll("[\s-]+", "_");
-        for (JobCategory c : values()) {
-            if (c.name().equalsIgnoreCase(normalized) || c.displayName.equalsIgnoreCase(s.trim())) {
-                return c;
-            }
+        JobCategory c = LOOKUP.get(s);
+        if (c == null) {
+            c = LOOKUP.get(EnumAliases.fold(s));
         }
-        throw new IllegalArgumentException("Unknown job category: '" + s + "'. Supported values: " + supported());
+        if (c == null) {
+            throw new IllegalArgumentException("Unknown job category: '" + s + "'. Supported values: " + supported());
+        }
+        return c;
     }
 
     public static String supported() {
-        StringBuilder sb = new StringBuilder();
-        for (JobCategory c : values()) {
-            if (sb.length() > 0) sb.append(", ");
-            sb.append(c.displayName);
-        }
-        return sb.toString();
+        return SUPPORTED;
     }
 }
@@ -0,0 +1,42 @@
+package com.dto;
+
+import com.model.Job;
+import com.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a job list shows, with only the first {@value #SNIPPET_LENGTH}
+ * characters of the description. Built by a JPQL constructor expression in
+ * {@code JobRepository}, so the full TEXT description is never read for lists.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSummary {
+
+    public static final int SNIPPET_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String snippet;
+    private BigDecimal budget;
+    private LocalDateTime deadline;
+    private JobStatus status;
+    private String category;
+    private LocalDateTime createdAt;
+
+    /** Build the same summary the repository query would return, from a loaded entity. */
+    public static JobSummary fromModel(Job job) {
+        String description = job.getDescription();
+        String snippet = description != null && description.length() > SNIPPET_LENGTH
+                ? description.substring(0, SNIPPET_LENGTH)
+                : description;
+        return new JobSummary(job.getId(), job.getTitle(), snippet, job.getBudget(), job.getDeadline(),
+                job.getStatus(), job.getCategory(), job.getCreatedAt());
+    }
+}
@@ -0,0 +1,45 @@
+package com.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.model.JobStatus;
+import com.model.ProposalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of a proposal with the job and freelancer fields shown in
+ * listings. Built directly by a JPQL constructor expression over one join query, so
+ * listing N proposals never loads the lazy job and freelancer associations.
+ * The constructor argument order is used by {@code ProposalRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProposalView {
+    private Long id;
+    private String coverLetter;
+    private BigDecimal proposedAmount;
+    private Integer estimatedDays;
+    private ProposalStatus status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+
+    private Long jobId;
+    private String jobTitle;
+    private BigDecimal jobBudget;
+    private JobStatus jobStatus;
+    private String jobCategory;
+    private Long clientId;
+
+    private Long freelancerId;
+    private String freelancerEmail;
+    private String freelancerFirstName;
+    private String freelancerLastName;
+    private String freelancerSkills;
+    private Double freelancerRating;
+}
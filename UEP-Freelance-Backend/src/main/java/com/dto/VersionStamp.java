@@ -0,0 +1,45 @@
+package com.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.CRC32C;
+
+/**
+ * Cheap fingerprint of a set of rows (row count, latest update time and sum of
+ * their @Version values), read with one aggregate query instead of loading the
+ * rows. Any insert, update or delete in the set changes at least one component,
+ * so it can answer conditional GETs before any DTO is built.
+ */
+public class VersionStamp {
+
+    private final long count;
+    private final LocalDateTime lastModified;
+    private final long versionSum;
+
+    // Used by JPQL constructor expressions; the aggregates are null over an empty set
+    public VersionStamp(Long count, LocalDateTime lastModified, Long versionSum) {
+        this.count = count != null ? count : 0L;
+        this.lastModified = lastModified;
+        this.versionSum = versionSum != null ? versionSum : 0L;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Weak ETag for a representation of these rows. {@code variant} must name
+     * everything else that shapes the body (endpoint, query parameters, caller).
+     */
+    public String etag(String variant) {
+        CRC32C crc = new CRC32C();
+        crc.update(variant.getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + count + "-" + versionSum + "-" + lastModifiedMillis() + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    /** Latest update time in epoch millis, or -1 when unknown. */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1L;
+    }
+}
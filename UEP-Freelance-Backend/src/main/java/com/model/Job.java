@@ -2,6 +2,8 @@ package com.model;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
@@ -9,13 +11,20 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_jobs_created_at_id", columnList = "createdAt, id"),
+    @Index(name = "idx_jobs_status_created_at_id", columnList = "status, createdAt, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "jobs")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Job {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: ids are handed out 50 at a time, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_seq")
+    @SequenceGenerator(name = "job_seq", sequenceName = "jobs_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -40,10 +49,24 @@ public class Job {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
+    // Bumped by Hibernate on every update; used for optimistic locking and ETags. The
+    // column defaults fill in rows that predate these columns when ddl-auto adds them
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+    
+    @Column(nullable = false, columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private User client;
     
     @OneToMany(mappedBy = "job", cascade = CascadeType.ALL)
     private List<Proposal> proposals;
+    
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -8,13 +8,17 @@ import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "proposals")
+@Table(name = "proposals", indexes = {
+    @Index(name = "idx_proposals_job_submitted_at_id", columnList = "job_id, submittedAt, id"),
+    @Index(name = "idx_proposals_freelancer_submitted_at_id", columnList = "freelancer_id, submittedAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Proposal {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proposal_seq")
+    @SequenceGenerator(name = "proposal_seq", sequenceName = "proposals_seq", allocationSize = 50)
     private Long id;
     
     @Column(columnDefinition = "TEXT", nullable = false)
@@ -33,6 +37,15 @@ public class Proposal {
     @Column(nullable = false)
     private LocalDateTime submittedAt = LocalDateTime.now();
     
+    // Concurrent accept/withdraw on the same proposal fail instead of overwriting each other.
+    // The default fills in rows that predate the column when ddl-auto adds it
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+    
+    @Column(nullable = false, columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
     private Job job;
@@ -40,4 +53,9 @@ public class Proposal {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "freelancer_id", nullable = false)
     private User freelancer;
+    
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.repository;
+
+import com.model.EmailOutbox;
+import com.model.EmailStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    List<EmailOutbox> findByClaimToken(String claimToken);
+
+    // Rows due for a (re)try, oldest first
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = com.model.EmailStatus.PENDING "
+         + "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Atomically take PENDING rows for one batch; rows already taken elsewhere are skipped
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = com.model.EmailStatus.SENDING, e.claimToken = :token, e.claimedAt = :now "
+         + "WHERE e.id IN :ids AND e.status = com.model.EmailStatus.PENDING")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    // Return rows whose worker died mid-batch to the queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = com.model.EmailStatus.PENDING, e.claimToken = null "
+         + "WHERE e.status = com.model.EmailStatus.SENDING AND e.claimedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    // Retention: sent rows are only kept for troubleshooting; FAILED rows stay until handled
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = com.model.EmailStatus.SENT AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(EmailStatus status);
+}
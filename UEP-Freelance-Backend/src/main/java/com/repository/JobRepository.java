@@ -1,14 +1,30 @@
 package com.repository;
 
+import com.dto.JobSummary;
+import com.dto.VersionStamp;
 import com.model.Job;
 import com.model.JobStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
     
+    // Results cached in the "open-jobs" query region; Hibernate drops them whenever a job is written
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "open-jobs")
+    })
     List<Job> findByStatus(JobStatus status);
     
     List<Job> findByTitleContaining(String keyword);
@@ -17,6 +33,67 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     
     List<Job> findByTitleContainingAndCategory(String keyword, String category);
     
+    // Keyset pagination, newest first; seeks on idx_jobs_created_at_id instead of using OFFSET
+    @Query("SELECT j FROM Job j ORDER BY j.createdAt DESC, j.id DESC")
+    List<Job> findFirstPage(Limit limit);
+    
+    @Query("SELECT j FROM Job j WHERE j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id) "
+         + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<Job> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    @Query("SELECT j FROM Job j WHERE j.status = :status ORDER BY j.createdAt DESC, j.id DESC")
+    List<Job> findFirstPageByStatus(@Param("status") JobStatus status, Limit limit);
+    
+    @Query("SELECT j FROM Job j WHERE j.status = :status "
+         + "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) "
+         + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<Job> findPageByStatusAfter(@Param("status") JobStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Limit limit);
+    
+    // List rows without the full description, cut to the same length JobSummary.fromModel uses
+    String SUMMARY_SELECT = "SELECT new com.dto.JobSummary(j.id, j.title, SUBSTRING(j.description, 1, " + JobSummary.SNIPPET_LENGTH + "), "
+         + "j.budget, j.deadline, j.status, j.category, j.createdAt) FROM Job j ";
+    
+    @Query(SUMMARY_SELECT + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE j.status = :status ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findSummariesByStatus(@Param("status") JobStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE j.category = :category ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findSummariesByCategory(@Param("category") String category);
+    
+    @Query(SUMMARY_SELECT + "WHERE j.id IN :ids")
+    List<JobSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findFirstSummaryPage(Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id) "
+         + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE j.status = :status ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findFirstSummaryPageByStatus(@Param("status") JobStatus status, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE j.status = :status "
+         + "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) "
+         + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findSummaryPageByStatusAfter(@Param("status") JobStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id, Limit limit);
+    
+    // Fingerprint of one job for conditional GETs; a primary-key lookup, no entity loaded
+    @Query("SELECT new com.dto.VersionStamp(COUNT(j), MAX(j.updatedAt), SUM(j.version)) FROM Job j WHERE j.id = :id")
+    VersionStamp findVersionStampById(@Param("id") Long id);
+    
+    // Forward-only, read-only cursor over every job for streaming exports; close the stream when done
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM Job j ORDER BY j.id")
+    Stream<Job> streamAll();
+    
     // Add this if you have client relationship
     // List<Job> findByClientId(Long clientId);
 }
\ No newline at end of file
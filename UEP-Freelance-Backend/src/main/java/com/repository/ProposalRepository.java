@@ -1,15 +1,19 @@
 package com.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.dto.ProposalView;
 import com.model.Job;
 import com.model.Proposal;
 import com.model.ProposalStatus;
 import com.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +30,59 @@ public interface ProposalRepository extends JpaRepository<Proposal, Long> {
     
     @Query("SELECT p FROM Proposal p WHERE p.job.client.id = :clientId")
     List<Proposal> findByClientId(@Param("clientId") Long clientId);
+    
+    // Flat listing rows: proposal, job and freelancer columns from one join query
+    String VIEW_SELECT = "SELECT new com.dto.ProposalView(p.id, p.coverLetter, p.proposedAmount, p.estimatedDays, "
+         + "p.status, p.submittedAt, j.id, j.title, j.budget, j.status, j.category, j.client.id, "
+         + "f.id, f.email, f.firstName, f.lastName, f.skills, f.rating) "
+         + "FROM Proposal p JOIN p.job j JOIN p.freelancer f ";
+    
+    // Reject every other pending proposal for a job in one statement. Bumps the version so a
+    // concurrent read-modify-write of any of these rows fails its optimistic lock check
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Proposal p SET p.status = com.model.ProposalStatus.REJECTED, p.version = p.version + 1, "
+         + "p.updatedAt = :now WHERE p.job.id = :jobId AND p.id <> :acceptedId "
+         + "AND p.status = com.model.ProposalStatus.PENDING")
+    int rejectOtherPending(@Param("jobId") Long jobId, @Param("acceptedId") Long acceptedId,
+                           @Param("now") LocalDateTime now);
+    
+    @Query(VIEW_SELECT + "WHERE j.id = :jobId ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findViewsByJobId(@Param("jobId") Long jobId);
+    
+    @Query(VIEW_SELECT + "WHERE f.id = :freelancerId ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findViewsByFreelancerId(@Param("freelancerId") Long freelancerId);
+    
+    @Query(VIEW_SELECT + "WHERE j.client.id = :clientId ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findViewsByClientId(@Param("clientId") Long clientId);
+    
+    // Keyset pagination, newest first, ordered by (submittedAt, id)
+    @Query(VIEW_SELECT + "WHERE f.id = :freelancerId ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findFirstPageByFreelancerId(@Param("freelancerId") Long freelancerId, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE f.id = :freelancerId "
+         + "AND (p.submittedAt < :submittedAt OR (p.submittedAt = :submittedAt AND p.id < :id)) "
+         + "ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findPageByFreelancerIdAfter(@Param("freelancerId") Long freelancerId,
+                                                   @Param("submittedAt") LocalDateTime submittedAt,
+                                                   @Param("id") Long id, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE j.id = :jobId ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findFirstPageByJobId(@Param("jobId") Long jobId, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE j.id = :jobId "
+         + "AND (p.submittedAt < :submittedAt OR (p.submittedAt = :submittedAt AND p.id < :id)) "
+         + "ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findPageByJobIdAfter(@Param("jobId") Long jobId,
+                                            @Param("submittedAt") LocalDateTime submittedAt,
+                                            @Param("id") Long id, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE j.client.id = :clientId ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findFirstPageByClientId(@Param("clientId") Long clientId, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE j.client.id = :clientId "
+         + "AND (p.submittedAt < :submittedAt OR (p.submittedAt = :submittedAt AND p.id < :id)) "
+         + "ORDER BY p.submittedAt DESC, p.id DESC")
+    List<ProposalView> findPageByClientIdAfter(@Param("clientId") Long clientId,
+                                               @Param("submittedAt") LocalDateTime submittedAt,
+                                               @Param("id") Long id, Limit limit);
 }
\ No newline at end of file
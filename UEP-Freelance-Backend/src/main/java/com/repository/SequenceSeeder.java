@@ -0,0 +1,69 @@
+package com.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Moves the id sequences past ids that already exist. The entities used IDENTITY
+ * columns before switching to pooled sequences; on MySQL, Hibernate emulates a
+ * sequence with a one-row table that {@code ddl-auto=update} creates starting at 1,
+ * so without this the first insert after the upgrade would reuse an existing id.
+ *
+ * <p>Runs once while the context starts, after the schema update and before anything
+ * inserts (beans that write at startup declare {@code @DependsOn("sequenceSeeder")}).
+ * It only ever raises a sequence, so it is safe to run on every start and with
+ * several instances.
+ */
+@Component
+public class SequenceSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceSeeder.class);
+
+    // The EntityManagerFactory parameter orders us after the schema update
+    public SequenceSeeder(EntityManagerFactory entityManagerFactory, DataSource dataSource) throws SQLException {
+        if (!isMySql(dataSource)) {
+            // H2 (the default) starts empty on every run; real sequences need no seeding
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            seed(jdbc, entity.getJavaType());
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc, Class<?> type) {
+        Table table = type.getAnnotation(Table.class);
+        for (Field field : type.getDeclaredFields()) {
+            SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+            if (generator == null || table == null) continue;
+
+            Long maxId = jdbc.queryForObject("SELECT MAX(" + field.getName() + ") FROM " + table.name(), Long.class);
+            if (maxId == null) return;
+            // The pooled optimizer hands out (next_val - allocationSize, next_val], so this makes maxId + 1 the next id
+            long required = maxId + generator.allocationSize();
+            int updated = jdbc.update("UPDATE " + generator.sequenceName() + " SET next_val = ? WHERE next_val < ?",
+                    required, required);
+            if (updated > 0) {
+                logger.info("Advanced {} to {} past existing ids in {}", generator.sequenceName(), required, table.name());
+            }
+            return;
+        }
+    }
+
+    private static boolean isMySql(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.repository;
 
+import com.dto.VersionStamp;
 import com.model.User;
 import com.model.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 import java.util.Optional;
 import java.util.List;
 
@@ -14,4 +25,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(UserRole role);
     List<User> findByIsActiveTrue();
     List<User> findByRoleAndIsActiveTrue(UserRole role);
+
+    // Keyset pagination, newest first
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findFirstPage(Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) "
+         + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Fingerprints of one user for conditional GETs; unique-key lookups, no entity loaded
+    @Query("SELECT new com.dto.VersionStamp(COUNT(u), MAX(u.updatedAt), SUM(u.version)) FROM User u WHERE u.id = :id")
+    VersionStamp findVersionStampById(@Param("id") Long id);
+
+    @Query("SELECT new com.dto.VersionStamp(COUNT(u), MAX(u.updatedAt), SUM(u.version)) FROM User u WHERE u.email = :email")
+    VersionStamp findVersionStampByEmail(@Param("email") String email);
+
+    // Background re-hash after login; only applies if the stored hash is still the one we read
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int upgradePassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // (email, tokenVersion) pairs for the in-memory token version table
+    @Query("SELECT u.email, u.tokenVersion FROM User u")
+    List<Object[]> findAllTokenVersions();
+
+    // Forward-only, read-only cursor over every user for streaming exports; close the stream when done
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.security;
+
+/**
+ * Thrown when a login, registration or password change is turned away because the
+ * hashing pool or a concurrency limit is saturated. Mapped to 429 with Retry-After.
+ */
+public class AuthBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AuthBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,93 @@
+package com.security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-rate limits for the unauthenticated auth endpoints, one token bucket per
+ * route and key type. Client addresses are checked in {@link RateLimitFilter} before
+ * the body is read; emails are checked by the controller once the body is parsed.
+ * Buckets are configured as "capacity/refill-per-minute".
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimiter.class);
+
+    public static final String LOGIN = "login";
+    public static final String REGISTER = "register";
+
+    private final boolean enabled;
+    private final Map<String, TokenBucketLimiter> byIp;
+    private final Map<String, TokenBucketLimiter> byEmail;
+    private final ScheduledExecutorService sweeper;
+
+    public AuthRateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.login.ip:20/10}") String loginIp,
+                           @Value("${rate-limit.login.email:5/5}") String loginEmail,
+                           @Value("${rate-limit.register.ip:5/2}") String registerIp,
+                           @Value("${rate-limit.register.email:3/1}") String registerEmail,
+                           @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${rate-limit.sweep-seconds:60}") long sweepSeconds) {
+        this.enabled = enabled;
+        this.byIp = Map.of(
+                LOGIN, TokenBucketLimiter.of(loginIp, maxKeys),
+                REGISTER, TokenBucketLimiter.of(registerIp, maxKeys));
+        this.byEmail = Map.of(
+                LOGIN, TokenBucketLimiter.of(loginEmail, maxKeys),
+                REGISTER, TokenBucketLimiter.of(registerEmail, maxKeys));
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limit-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /** @return 0 if the request may proceed, otherwise milliseconds until it may retry */
+    public long checkIp(String route, String ip) {
+        if (!enabled) return 0;
+        return byIp.get(route).tryAcquire(ip == null ? "" : ip);
+    }
+
+    /** @throws AuthBusyException if the email has used up its bucket for this route */
+    public void checkEmail(String route, String email) {
+        if (!enabled || email == null) return;
+        long waitMillis = byEmail.get(route).tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (waitMillis > 0) {
+            throw new AuthBusyException("Too many attempts for this account, please retry later", retryAfterSeconds(waitMillis));
+        }
+    }
+
+    public static long retryAfterSeconds(long waitMillis) {
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    private void evictIdle() {
+        try {
+            int evicted = 0;
+            for (TokenBucketLimiter limiter : byIp.values()) evicted += limiter.evictIdle();
+            for (TokenBucketLimiter limiter : byEmail.values()) evicted += limiter.evictIdle();
+            if (evicted > 0) {
+                logger.debug("Evicted {} idle rate-limit buckets", evicted);
+            }
+        } catch (Exception e) {
+            logger.error("Rate-limit sweep failed", e);
+        }
+    }
+}
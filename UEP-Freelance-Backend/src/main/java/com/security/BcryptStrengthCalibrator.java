@@ -0,0 +1,59 @@
+package com.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt strength whose hash time fits a millisecond budget on this host.
+ * Each extra point of strength doubles the cost, so we time increasing strengths and
+ * stop at the first one that goes over budget.
+ */
+public final class BcryptStrengthCalibrator {
+
+    // Spring's BCrypt accepts 4..31; below 10 is too cheap to be worth offering
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password-123";
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    /** Highest strength whose median hash time is within {@code targetMillis}, never below {@link #MIN_STRENGTH}. */
+    public static int calibrate(long targetMillis) {
+        // Warm up so the first timing does not include class loading and JIT
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        int chosen = MIN_STRENGTH;
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            if (medianMillis(strength) > targetMillis) break;
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    static long medianMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] times = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            times[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(times);
+        return times[SAMPLES / 2];
+    }
+
+    // Prints the timings and the chosen strength: java -cp <classpath> com.security.BcryptStrengthCalibrator 100
+    public static void main(String[] args) {
+        long target = args.length > 0 ? Long.parseLong(args[0]) : 100;
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            long millis = medianMillis(strength);
+            System.out.printf("strength %2d: %5d ms%n", strength, millis);
+            if (millis > target * 4) break;
+        }
+        System.out.println("auth.password.bcrypt-strength=" + calibrate(target));
+    }
+}
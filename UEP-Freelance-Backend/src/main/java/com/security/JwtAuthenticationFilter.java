@@ -1,12 +1,15 @@
 package com.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,6 +18,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.uep.freelance.security.CustomUserDetailsService;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +29,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private TokenRevocationList revocationList;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
@@ -34,16 +44,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         String username = null;
         String jwt = null;
+        VerifiedToken token = null;
         
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+            try {
+                token = jwtUtil.verify(jwt);
+                // Logged-out tokens and revoked sessions, answered from memory
+                if (!revocationList.isRevoked(token.getJti(), token.getSessionId())) {
+                    username = token.getSubject();
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected JWT: " + e.getMessage());
+            }
         }
         
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = null;
+            
+            if (jwtUtil.isStateless() && token.getRole() != null) {
+                // Stateless mode: the signed claims are trusted, only the version is checked
+                Integer version = token.getTokenVersion();
+                if (version != null && tokenVersionRegistry.isCurrent(username, version)) {
+                    userDetails = new User(username, "",
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + token.getRole())));
+                }
+            } else {
+                // verify() already checked signature and expiry; only the subject needs matching
+                UserDetails loaded = this.userDetailsService.loadUserByUsername(username);
+                if (username.equals(loaded.getUsername())) {
+                    userDetails = loaded;
+                }
+            }
             
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -52,4 +86,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,104 @@
 package com.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    // Claims embedded so a token can be trusted without loading the user
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // Refresh-token family the access token was issued under, for revoking a whole session
+    public static final String CLAIM_SESSION = "sid";
     
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
     
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // When true, requests are authenticated from the token claims alone
+    private final boolean stateless;
+    
+    // Built once; deriving the key and parser per call was most of the verification cost
+    private final Key signingKey;
+    private final JwtParser parser;
+    
+    // SHA-256 of recently verified tokens -> their claims, kept until the token expires.
+    // Caffeine rather than a synchronized LRU map: lookups take no lock on the hot path
+    private final Cache<TokenHash, VerifiedToken> verified;
+    
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration:900000}") Long expiration,
+                   @Value("${jwt.stateless:false}") boolean stateless,
+                   @Value("${jwt.verified-cache-size:4096}") int verifiedCacheSize) {
+        this.expiration = expiration;
+        this.stateless = stateless;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verified = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
+    }
+    
+    public boolean isStateless() {
+        return stateless;
+    }
+    
+    /** Lifetime of access tokens in milliseconds. */
+    public long getExpiration() {
+        return expiration;
+    }
+    
+    /**
+     * Verify the signature and expiry of a token and return its claims. Each token is
+     * parsed at most once while it stays in the verified-token cache.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (verified == null) {
+            return new VerifiedToken(extractAllClaims(token));
+        }
+        
+        TokenHash key = TokenHash.of(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.currentTimeMillis())) {
+                return cached;
+            }
+            verified.invalidate(key);
+        }
+        
+        VerifiedToken fresh = new VerifiedToken(extractAllClaims(token));
+        verified.put(key, fresh);
+        return fresh;
     }
     
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
     
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return new Date(verify(token).getExpiresAt());
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -38,34 +107,92 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, userDetails.getUsername());
     }
     
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserDetails userDetails, Long userId, String role, Integer tokenVersion) {
+        return generateToken(userDetails, userId, role, tokenVersion, null);
+    }
+    
+    public String generateToken(UserDetails userDetails, Long userId, String role, Integer tokenVersion, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userId);
+        claims.put(CLAIM_ROLE, role);
+        claims.put(CLAIM_TOKEN_VERSION, tokenVersion != null ? tokenVersion : 0);
+        if (sessionId != null) {
+            claims.put(CLAIM_SESSION, sessionId);
+        }
         return createToken(claims, userDetails.getUsername());
     }
     
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verifiedToken = verify(token);
+        return verifiedToken.getSubject().equals(userDetails.getUsername())
+                && !verifiedToken.isExpired(System.currentTimeMillis());
+    }
+    
+    // Each entry lives exactly as long as its token; updates and reads do not extend it
+    private static final class UntilTokenExpiry implements Expiry<TokenHash, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(TokenHash key, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.getExpiresAt() - System.currentTimeMillis()));
+        }
+        
+        @Override
+        public long expireAfterUpdate(TokenHash key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(TokenHash key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+    
+    // Cache key: raw tokens are not kept in memory, only their digests
+    private static final class TokenHash {
+        private final byte[] digest;
+        private final int hash;
+        
+        private TokenHash(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+        
+        static TokenHash of(String token) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                return new TokenHash(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenHash && Arrays.equals(digest, ((TokenHash) o).digest);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps how many password checks may be in flight at once for one account and for one
+ * client address, so a single attacker cannot fill the hashing queue by themselves.
+ * Entries are removed when their count drops back to zero.
+ */
+@Component
+public class LoginConcurrencyLimiter {
+
+    private final ConcurrentHashMap<String, Integer> perAccount = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> perIp = new ConcurrentHashMap<>();
+
+    private final int accountLimit;
+    private final int ipLimit;
+
+    private final Counter accountRejected;
+    private final Counter ipRejected;
+
+    public LoginConcurrencyLimiter(MeterRegistry registry,
+                                   @Value("${auth.limits.per-account:2}") int accountLimit,
+                                   @Value("${auth.limits.per-ip:8}") int ipLimit) {
+        this.accountLimit = accountLimit;
+        this.ipLimit = ipLimit;
+        this.accountRejected = Counter.builder("auth.limits.rejected").tag("scope", "account").register(registry);
+        this.ipRejected = Counter.builder("auth.limits.rejected").tag("scope", "ip").register(registry);
+    }
+
+    /**
+     * Take a slot for the account and the address, to be released by closing the permit.
+     *
+     * @throws AuthBusyException if either already has the maximum number of checks running
+     */
+    public Permit acquire(String email, String ip) {
+        String account = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        String address = ip == null ? "" : ip;
+
+        if (!tryAcquire(perIp, address, ipLimit)) {
+            ipRejected.increment();
+            throw new AuthBusyException("Too many concurrent sign-in attempts from this address", 1);
+        }
+        if (!tryAcquire(perAccount, account, accountLimit)) {
+            release(perIp, address);
+            accountRejected.increment();
+            throw new AuthBusyException("Too many concurrent sign-in attempts for this account", 1);
+        }
+        return new Permit(account, address);
+    }
+
+    private static boolean tryAcquire(ConcurrentHashMap<String, Integer> counts, String key, int limit) {
+        boolean[] acquired = {false};
+        counts.compute(key, (k, n) -> {
+            int current = n == null ? 0 : n;
+            if (current >= limit) return n;
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private static void release(ConcurrentHashMap<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, n) -> n <= 1 ? null : n - 1);
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final String account;
+        private final String address;
+        private boolean closed;
+
+        private Permit(String account, String address) {
+            this.account = account;
+            this.address = address;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            release(perAccount, account);
+            release(perIp, address);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a small CPU-sized pool so a burst of logins cannot occupy
+ * every request thread. The queue is bounded and full means an immediate
+ * {@link AuthBusyException} rather than a growing backlog.
+ *
+ * <p>The timeout only covers time spent queued. A hash cannot be interrupted, so once
+ * one has started the caller waits for it; when a call returns, its hash is either
+ * finished or was never run, and the caller's {@link LoginConcurrencyLimiter.Permit}
+ * is never released while the work it guards is still on the CPU.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final long queueTimeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry registry,
+                                   @Value("${auth.hashing.threads:0}") int threads,
+                                   @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${auth.hashing.queue-timeout-ms:5000}") long queueTimeoutMillis) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueTimeoutMillis = queueTimeoutMillis;
+
+        Gauge.builder("auth.hashing.queue", pool, p -> p.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.hashing.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(registry);
+        this.encodeTimer = Timer.builder("auth.hashing.duration").tag("op", "encode").register(registry);
+        this.matchesTimer = Timer.builder("auth.hashing.duration").tag("op", "matches").register(registry);
+        this.waitTimer = Timer.builder("auth.hashing.wait")
+                .description("Time a hashing task spent queued")
+                .register(registry);
+        this.rejected = Counter.builder("auth.hashing.rejected").register(registry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    public String encode(Callable<String> task) {
+        return run(task, encodeTimer);
+    }
+
+    public boolean matches(Callable<Boolean> task) {
+        return run(task, matchesTimer);
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        long queuedAt = System.nanoTime();
+        // Claimed by whichever comes first: the worker starting the hash or the caller giving up
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) return null;
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthBusyException("Too many sign-in requests, please retry shortly", 1);
+        }
+
+        try {
+            try {
+                return future.get(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    future.cancel(false);
+                    rejected.increment();
+                    throw new AuthBusyException("Too many sign-in requests, please retry shortly", 1);
+                }
+                // Already hashing; it finishes in one hash time, so wait rather than abandon it
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            claimed.set(true);
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.security;
+
+import com.model.User;
+import com.repository.UserRepository;
+import com.service.BackgroundThreads;
+import com.uep.freelance.security.UserDetailsCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-hashes passwords stored with an outdated encoder or cost after a successful
+ * login, while the raw password is at hand. The work runs in the background and is
+ * best effort: if the queue is full or the hashing pool is busy the upgrade is
+ * skipped and tried again on the next login.
+ */
+@Component
+public class PasswordUpgrader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUpgrader.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordUpgrader(PasswordEncoder passwordEncoder,
+                            UserRepository userRepository,
+                            UserDetailsCache userDetailsCache,
+                            @Value("${auth.password.upgrade-queue-capacity:100}") int queueCapacity,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                BackgroundThreads.factory("password-upgrade", virtualThreads),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Queue a re-hash if the stored hash is stale; returns immediately. */
+    public void upgradeIfStale(User user, String rawPassword) {
+        String storedHash = user.getPassword();
+        if (storedHash == null || !passwordEncoder.upgradeEncoding(storedHash)) {
+            return;
+        }
+        Long id = user.getId();
+        String email = user.getEmail();
+        executor.execute(() -> upgrade(id, email, rawPassword, storedHash));
+    }
+
+    private void upgrade(Long id, String email, String rawPassword, String storedHash) {
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            // Conditional on the old hash so a password change in the meantime wins
+            if (userRepository.upgradePassword(id, storedHash, newHash) > 0) {
+                userDetailsCache.evict(email);
+                logger.debug("Upgraded password hash for user {}", id);
+            }
+        } catch (AuthBusyException e) {
+            logger.debug("Hashing pool busy, deferring password upgrade for user {}", id);
+        } catch (Exception e) {
+            logger.warn("Password upgrade failed for user {}: {}", id, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-address rate limit on login and registration, applied ahead of JWT
+ * authentication so throttled requests cost neither a token check nor a BCrypt hash.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AuthRateLimiter rateLimiter;
+
+    public RateLimitFilter(AuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String route = routeOf(request);
+        if (route != null) {
+            long waitMillis = rateLimiter.checkIp(route, request.getRemoteAddr());
+            if (waitMillis > 0) {
+                reject(response, AuthRateLimiter.retryAfterSeconds(waitMillis));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) return null;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        switch (path) {
+            case "/api/auth/login":
+                return AuthRateLimiter.LOGIN;
+            case "/api/auth/register":
+                return AuthRateLimiter.REGISTER;
+            default:
+                return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, please retry later\",\"timestamp\":"
+                + System.currentTimeMillis() + "}");
+    }
+}
@@ -1,5 +1,7 @@
 package com.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,24 +12,33 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+    
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
     @Value("${cors.allowed-origins}")
     private String[] allowedOrigins;
     
@@ -39,15 +50,20 @@ public class SecurityConfig {
             .exceptionHandling().authenticationEntryPoint(jwtAuthenticationEntryPoint).and()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/h2-console/**", "/api-docs/**", "/swagger-ui/**").permitAll()
+                .requestMatchers("/auth/**", "/api/auth/**", "/h2-console/**", "/api-docs/**", "/swagger-ui/**").permitAll()
                 .requestMatchers("/api/jobs", "/api/jobs/search").permitAll()
-                .requestMatchers("/api/admin/**").hasRole("ADMIN")
-                .requestMatchers("/api/jobs/create").hasAnyRole("CLIENT", "ADMIN")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/api/admin/**", "/api/jobs/export", "/api/users/export", "/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/api/jobs/create", "/api/jobs/bulk").hasAnyRole("CLIENT", "ADMIN")
+                .requestMatchers("/api/jobs/recommended").hasRole("STUDENT")
+                .requestMatchers("/api/jobs/*/candidates").hasAnyRole("CLIENT", "ADMIN")
+                .requestMatchers("/api/proposals/received", "/api/proposals/job/**", "/api/proposals/*/accept").hasAnyRole("CLIENT", "ADMIN")
                 .requestMatchers("/api/proposals/**").hasRole("STUDENT")
                 .anyRequest().authenticated()
             )
             .headers().frameOptions().disable().and() // For H2 console
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
@@ -65,9 +81,27 @@ public class SecurityConfig {
         return source;
     }
     
+    /**
+     * New hashes are written as {bcrypt} at the configured strength (0 = calibrate to
+     * auth.password.target-ms on this host). Stored hashes without an {id} prefix are
+     * plain BCrypt from before; they still match and get upgraded on next login.
+     * Everything runs on the bounded hashing pool, not on the request thread.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor,
+                                           @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.target-ms:100}") long targetMillis) {
+        if (strength <= 0) {
+            strength = BcryptStrengthCalibrator.calibrate(targetMillis);
+            logger.info("Calibrated BCrypt strength {} for a {} ms budget", strength, targetMillis);
+        }
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating, hashingExecutor);
     }
     
     @Bean
@@ -0,0 +1,121 @@
+package com.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by string (client address, email). Each bucket is a single
+ * {@link AtomicLong} holding the last refill time and the token count, updated with
+ * a CAS loop, so the allow path takes no lock and allocates nothing for known keys.
+ *
+ * <p>Memory is bounded two ways: {@link #evictIdle} drops buckets that have refilled
+ * completely (indistinguishable from a new one), and once {@code maxKeys} is reached
+ * new keys share one overflow bucket until the next eviction makes room.
+ */
+public class TokenBucketLimiter {
+
+    // State layout: [ refill time, ms since origin : 40 | tokens, in milli-tokens : 24 ]
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long UNIT = 1000;
+    static final long MAX_CAPACITY = TOKEN_MASK / UNIT;
+
+    private final long capacityUnits;
+    private final long refillPerMinute;
+    private final long fillMillis;
+    private final int maxKeys;
+    private final long origin;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+
+    public TokenBucketLimiter(long capacity, long refillPerMinute, int maxKeys) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPerMinute < 1) {
+            throw new IllegalArgumentException("Refill rate must be at least 1 per minute");
+        }
+        this.capacityUnits = capacity * UNIT;
+        this.refillPerMinute = refillPerMinute;
+        this.fillMillis = capacityUnits * 60_000 / (refillPerMinute * UNIT) + 1;
+        this.maxKeys = maxKeys;
+        this.origin = System.currentTimeMillis();
+        this.overflow = new AtomicLong(capacityUnits);
+    }
+
+    /** Parse "capacity/refill-per-minute", e.g. {@code "20/10"}. */
+    public static TokenBucketLimiter of(String spec, int maxKeys) {
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Expected capacity/refill-per-minute but got '" + spec + "'");
+        }
+        return new TokenBucketLimiter(Long.parseLong(spec.substring(0, slash).trim()),
+                Long.parseLong(spec.substring(slash + 1).trim()), maxKeys);
+    }
+
+    /**
+     * Take one token for {@code key}.
+     *
+     * @return 0 if allowed, otherwise the milliseconds until a token will be available
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    long tryAcquire(String key, long nowMillis) {
+        long now = nowMillis - origin;
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long state = bucket.get();
+            long tokens = refilled(state, now);
+            if (tokens < UNIT) {
+                return (UNIT - tokens) * 60_000 / (refillPerMinute * UNIT) + 1;
+            }
+            // Keep the old timestamp while the elapsed time is worth less than one milli-token,
+            // so slow refill rates still accrue; a full bucket starts counting from now
+            long stored = state & TOKEN_MASK;
+            long time = tokens == stored && stored < capacityUnits ? state >>> TOKEN_BITS : now;
+            if (bucket.compareAndSet(state, (time << TOKEN_BITS) | (tokens - UNIT))) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxKeys) return overflow;
+        AtomicLong fresh = new AtomicLong((now << TOKEN_BITS) | capacityUnits);
+        AtomicLong raced = buckets.putIfAbsent(key, fresh);
+        return raced != null ? raced : fresh;
+    }
+
+    private long refilled(long state, long now) {
+        long tokens = state & TOKEN_MASK;
+        long elapsed = now - (state >>> TOKEN_BITS);
+        if (elapsed <= 0 || tokens >= capacityUnits) return tokens;
+        if (elapsed >= fillMillis) return capacityUnits;
+        long added = elapsed * refillPerMinute * UNIT / 60_000;
+        return Math.min(capacityUnits, tokens + added);
+    }
+
+    /**
+     * Drop buckets that are full again. A request racing the removal may spend a token
+     * from the dropped bucket, which only errs toward allowing.
+     */
+    public int evictIdle() {
+        return evictIdle(System.currentTimeMillis());
+    }
+
+    int evictIdle(long nowMillis) {
+        long now = nowMillis - origin;
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> refilled(bucket.get(), now) >= capacityUnits);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,123 @@
+package com.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Revoked access-token ids (jti) and session ids (sid), checked on every request
+ * without touching the database. An entry only has to outlive the access tokens it
+ * blocks, so entries are grouped by expiry into generations one access TTL wide and
+ * a generation is dropped whole once its window has passed; at most three are live.
+ * Each generation has a Bloom filter in front of its exact set, so the usual "not
+ * revoked" answer costs a few bit probes.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final int GENERATIONS = 3;
+    private static final int HASHES = 4;
+
+    private final long windowMillis;
+    private final int bloomBits;
+    private final AtomicReferenceArray<Generation> ring = new AtomicReferenceArray<>(GENERATIONS);
+
+    public TokenRevocationList(@Value("${jwt.expiration:900000}") long accessTtlMillis,
+                               @Value("${jwt.revocation.expected-per-window:10000}") int expectedPerWindow) {
+        this.windowMillis = Math.max(1000, accessTtlMillis);
+        // ~10 bits per entry keeps false positives near 1% with four hashes
+        this.bloomBits = Integer.highestOneBit(Math.max(1024, expectedPerWindow * 10 - 1)) << 1;
+    }
+
+    /** Block {@code id} (a jti or sid) until {@code expiresAtMillis}. */
+    public void revoke(String id, long expiresAtMillis) {
+        revoke(id, expiresAtMillis, System.currentTimeMillis());
+    }
+
+    void revoke(String id, long expiresAtMillis, long nowMillis) {
+        if (id == null || expiresAtMillis <= nowMillis) return;
+        generationFor(expiresAtMillis / windowMillis).add(id);
+    }
+
+    /** Block every access token of a session; none can live past one access TTL from now. */
+    public void revokeSession(String sessionId, long revokedAtMillis) {
+        revoke(sessionId, revokedAtMillis + windowMillis);
+    }
+
+    public boolean isRevoked(String jti, String sessionId) {
+        return isRevoked(jti, sessionId, System.currentTimeMillis());
+    }
+
+    boolean isRevoked(String jti, String sessionId, long nowMillis) {
+        long oldestLive = nowMillis / windowMillis;
+        for (int i = 0; i < GENERATIONS; i++) {
+            Generation generation = ring.get(i);
+            if (generation == null || generation.index < oldestLive) continue;
+            if (generation.contains(jti) || generation.contains(sessionId)) return true;
+        }
+        return false;
+    }
+
+    private Generation generationFor(long index) {
+        int slot = (int) (index % GENERATIONS);
+        while (true) {
+            Generation generation = ring.get(slot);
+            if (generation != null && generation.index == index) return generation;
+            // The slot is empty or holds a generation whose window is over; replace it wholesale
+            Generation fresh = new Generation(index, bloomBits);
+            if (ring.compareAndSet(slot, generation, fresh)) return fresh;
+        }
+    }
+
+    private static final class Generation {
+        final long index;
+        final AtomicLongArray bits;
+        final int mask;
+        final Set<String> exact = ConcurrentHashMap.newKeySet();
+
+        Generation(long index, int bitCount) {
+            this.index = index;
+            this.bits = new AtomicLongArray(bitCount >>> 6);
+            this.mask = bitCount - 1;
+        }
+
+        void add(String id) {
+            // Exact set first: a reader that passes the filter must find the entry
+            exact.add(id);
+            int h1 = id.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long word;
+                do {
+                    word = bits.get(bit >>> 6);
+                } while (!bits.compareAndSet(bit >>> 6, word, word | (1L << bit)));
+            }
+        }
+
+        boolean contains(String id) {
+            if (id == null || exact.isEmpty()) return false;
+            int h1 = id.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) return false;
+            }
+            return exact.contains(id);
+        }
+
+        // Second, independent hash for double hashing; forced odd so probes differ
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h | 1;
+        }
+    }
+}
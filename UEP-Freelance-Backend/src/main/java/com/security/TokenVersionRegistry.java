@@ -0,0 +1,86 @@
+package com.security;
+
+import com.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of every user's token version, used to revoke stateless tokens
+ * without a database lookup per request. Versions only ever increase, so a token
+ * is valid while its version is at least the current one.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Other instances bump versions too; re-read the table periodically to pick those up
+    @Value("${jwt.version-refresh-seconds:60}")
+    private long refreshSeconds;
+
+    private ScheduledExecutorService refresher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+        if (refreshSeconds > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "token-version-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+            refresher.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public void refresh() {
+        try {
+            List<Object[]> rows = userRepository.findAllTokenVersions();
+            for (Object[] row : rows) {
+                update((String) row[0], row[1] != null ? ((Number) row[1]).intValue() : 0);
+            }
+            logger.debug("Loaded token versions for {} users", rows.size());
+        } catch (Exception e) {
+            logger.warn("Failed to refresh token versions: {}", e.getMessage());
+        }
+    }
+
+    /** Record a user's new token version; older values are ignored. */
+    public void update(String email, int version) {
+        if (email == null) return;
+        versions.merge(email, version, Math::max);
+    }
+
+    public int currentVersion(String email) {
+        return versions.getOrDefault(email, 0);
+    }
+
+    public boolean isCurrent(String email, int tokenVersion) {
+        return tokenVersion >= currentVersion(email);
+    }
+}
@@ -0,0 +1,70 @@
+package com.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Immutable view of the claims of a token whose signature has been verified.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Long userId;
+    private final String role;
+    private final Integer tokenVersion;
+    private final String jti;
+    private final String sessionId;
+    private final long issuedAt;
+    private final long expiresAt;
+
+    VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        Number uid = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        this.userId = uid != null ? uid.longValue() : null;
+        this.role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        Number version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        this.tokenVersion = version != null ? version.intValue() : null;
+        this.jti = claims.getId();
+        this.sessionId = claims.get(JwtUtil.CLAIM_SESSION, String.class);
+        this.issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+        this.expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /** Role name without the ROLE_ prefix, or null for tokens issued without claims. */
+    public String getRole() {
+        return role;
+    }
+
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /** Unique id of this token, or null for tokens issued before ids were added. */
+    public String getJti() {
+        return jti;
+    }
+
+    /** Refresh-token family the token belongs to, or null if issued without one. */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt <= nowMillis;
+    }
+}
@@ -6,18 +6,31 @@ import com.model.User;
 import com.model.UserRole;
 import com.repository.UserRepository;
 import com.security.JwtUtil;
+import com.security.LoginConcurrencyLimiter;
+import com.security.PasswordUpgrader;
+import com.security.TokenRevocationList;
+import com.security.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
 
 import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+
+// Seeds demo accounts at startup, so ids must be past existing rows first
 @Service
+@DependsOn("sequenceSeeder")
 public class AuthService {
     
     @Autowired
@@ -32,28 +45,41 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
-    public AuthResponse authenticate(AuthRequest authRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
-        );
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private LoginConcurrencyLimiter loginLimiter;
+    
+    @Autowired
+    private PasswordUpgrader passwordUpgrader;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TokenRevocationList revocationList;
+    
+    public AuthResponse authenticate(AuthRequest authRequest, String clientIp) {
+        Authentication authentication;
+        try (LoginConcurrencyLimiter.Permit permit = loginLimiter.acquire(authRequest.getEmail(), clientIp)) {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
+            );
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtil.generateToken((org.springframework.security.core.userdetails.User) authentication.getPrincipal());
         
         User user = userRepository.findByEmail(authRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return new AuthResponse(
-            jwt,
-            user.getEmail(),
-            user.getFirstName(),
-            user.getLastName(),
-            user.getRole().name(),
-            user.getId()
-        );
+        // Stored at an old cost or encoder: re-hash in the background while we have the password
+        passwordUpgrader.upgradeIfStale(user, authRequest.getPassword());
+        
+        return tokensFor(user, refreshTokenService.issue(user));
     }
     
-    public AuthResponse register(AuthRequest request) {
+    public AuthResponse register(AuthRequest request, String clientIp) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
@@ -65,30 +91,72 @@ public class AuthService {
 
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        try (LoginConcurrencyLimiter.Permit permit = loginLimiter.acquire(request.getEmail(), clientIp)) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+        }
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getFirstName());
         user.setRole(UserRole.valueOf(request.getRole().toUpperCase()));
         user.setIsVerified(false);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser));
 
+        return tokensFor(savedUser, refreshTokenService.issue(savedUser));
+    }
+    
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     *
+     * @throws org.springframework.security.authentication.BadCredentialsException if the
+     *         refresh token is invalid, expired, revoked or being reused
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Issued rotated = refreshTokenService.rotate(refreshToken);
+        return tokensFor(rotated.getUser(), rotated);
+    }
+    
+    // Ends the refresh session and blocks the presented access token until it expires
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            try {
+                VerifiedToken token = jwtUtil.verify(accessToken);
+                revocationList.revoke(token.getJti(), token.getExpiresAt());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Already unusable
+            }
+        }
+    }
+    
+    // Short-lived access token tied to the refresh session through its sid claim
+    private AuthResponse tokensFor(User user, RefreshTokenService.Issued refresh) {
+        String role = user.getRole().name();
         String jwt = jwtUtil.generateToken(
             new org.springframework.security.core.userdetails.User(
-                savedUser.getEmail(),
-                savedUser.getPassword(),
-                java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + savedUser.getRole().name()))
-            )
+                user.getEmail(),
+                "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+            ),
+            user.getId(),
+            role,
+            user.getTokenVersion(),
+            refresh.getFamilyId()
         );
-
-        return new AuthResponse(
+        
+        AuthResponse response = new AuthResponse(
             jwt,
-            savedUser.getEmail(),
-            savedUser.getFirstName(),
-            savedUser.getLastName(),
-            savedUser.getRole().name(),
-            savedUser.getId()
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName(),
+            role,
+            user.getId()
         );
+        response.setExpiresAt(response.getIssuedAt() + jwtUtil.getExpiration());
+        response.setRefreshToken(refresh.getToken());
+        return response;
     }
     
     // Demo accounts initialization
@@ -0,0 +1,28 @@
+package com.service;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the application's own background executors. With
+ * {@code spring.threads.virtual.enabled=true} workers that mostly block (SMTP,
+ * JDBC) run on virtual threads, like Tomcat's request threads in that mode.
+ */
+public final class BackgroundThreads {
+
+    private BackgroundThreads() {
+    }
+
+    /** Named threads "prefix-1", "prefix-2", ...; daemon platform threads unless {@code virtual}. */
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix + "-", 1).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,264 @@
+package com.service;
+
+import com.dto.CandidateDTO;
+import com.model.User;
+import com.model.UserRole;
+import com.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranks active students as candidates for a job by skill overlap, rating and
+ * completion rate. Student features live in an in-memory table that follows
+ * {@link UserChangedEvent}s; large pools are scored in parallel with fork/join.
+ */
+@Component
+public class CandidateRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateRankingService.class);
+
+    // Score weights; skill fit dominates, reputation breaks ties between similar fits
+    private static final double SKILL_WEIGHT = 0.6;
+    private static final double RATING_WEIGHT = 0.25;
+    private static final double COMPLETION_WEIGHT = 0.15;
+    private static final double MAX_RATING = 5.0;
+
+    // Below this many students per task, score sequentially
+    private static final int SPLIT_THRESHOLD = 2048;
+
+    private final Map<Long, StudentFeatures> features = new ConcurrentHashMap<>();
+
+    // Array copy of `features` for scanning; rebuilt on the first ranking after a change
+    private volatile StudentFeatures[] snapshot = new StudentFeatures[0];
+    private volatile boolean dirty;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    // Pools at least this large are ranked on the common fork/join pool
+    @Value("${candidates.parallel-threshold:10000}")
+    private int parallelThreshold;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<User> students = userRepository.findByRoleAndIsActiveTrue(UserRole.STUDENT);
+        synchronized (this) {
+            features.clear();
+            for (User user : students) {
+                features.put(user.getId(), toFeatures(user));
+            }
+            dirty = true;
+        }
+        logger.info("Loaded candidate features for {} students in {} ms", students.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        update(event.getUser());
+    }
+
+    public synchronized void update(User user) {
+        if (user == null || user.getId() == null) return;
+        if (user.getRole() == UserRole.STUDENT && Boolean.TRUE.equals(user.getIsActive())) {
+            features.put(user.getId(), toFeatures(user));
+        } else {
+            features.remove(user.getId());
+        }
+        dirty = true;
+    }
+
+    /**
+     * The best {@code limit} students for a job requiring the given skills. When the
+     * job lists skills, students sharing none of them are left out.
+     */
+    public List<CandidateDTO> rank(String jobSkills, int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        int[] required = skillDictionary.lookupAll(jobSkills);
+        StudentFeatures[] students = currentSnapshot();
+
+        PriorityQueue<Scored> top;
+        if (students.length >= parallelThreshold) {
+            top = ForkJoinPool.commonPool().invoke(new RankTask(students, 0, students.length, required, limit));
+        } else {
+            top = rankRange(students, 0, students.length, required, limit);
+        }
+
+        List<CandidateDTO> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Scored s = top.poll();
+            StudentFeatures f = s.student;
+            result.add(new CandidateDTO(f.userId, f.firstName, f.lastName, f.skillsText, f.rating,
+                    f.completedJobs, f.totalJobs, s.matched, s.score));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public int size() {
+        return features.size();
+    }
+
+    private StudentFeatures[] currentSnapshot() {
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    dirty = false;
+                    snapshot = features.values().toArray(new StudentFeatures[0]);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    // Score students[from, to) into a bounded min-heap of the best `limit`
+    static PriorityQueue<Scored> rankRange(StudentFeatures[] students, int from, int to, int[] required, int limit) {
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1);
+        for (int i = from; i < to; i++) {
+            StudentFeatures student = students[i];
+            int matched = overlap(required, student.skills);
+            if (required.length > 0 && matched == 0) continue;
+            double skillFit = required.length > 0 ? (double) matched / required.length : 0.0;
+            double score = SKILL_WEIGHT * skillFit
+                    + RATING_WEIGHT * student.normalizedRating
+                    + COMPLETION_WEIGHT * student.completionRate;
+            offer(top, new Scored(student, matched, score), limit);
+        }
+        return top;
+    }
+
+    private static void offer(PriorityQueue<Scored> top, Scored scored, int limit) {
+        if (top.size() < limit) {
+            top.add(scored);
+        } else if (scored.compareTo(top.peek()) > 0) {
+            top.poll();
+            top.add(scored);
+        }
+    }
+
+    // Size of the intersection of two sorted id arrays
+    private static int overlap(int[] a, int[] b) {
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                n++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n;
+    }
+
+    private StudentFeatures toFeatures(User user) {
+        double rating = user.getRating() != null ? user.getRating() : 0.0;
+        int completed = user.getCompletedJobs() != null ? user.getCompletedJobs() : 0;
+        int total = user.getTotalJobs() != null ? user.getTotalJobs() : 0;
+        // Smoothed so one finished job out of one does not beat a long track record
+        double completionRate = (completed + 1.0) / (total + 2.0);
+        return new StudentFeatures(user.getId(), user.getFirstName(), user.getLastName(), user.getSkills(),
+                skillDictionary.internAll(user.getSkills()), user.getRating(), user.getCompletedJobs(), user.getTotalJobs(),
+                Math.min(1.0, Math.max(0.0, rating / MAX_RATING)), Math.min(1.0, completionRate));
+    }
+
+    static final class StudentFeatures {
+        final Long userId;
+        final String firstName;
+        final String lastName;
+        final String skillsText;
+        final int[] skills;
+        final Double rating;
+        final Integer completedJobs;
+        final Integer totalJobs;
+        final double normalizedRating;
+        final double completionRate;
+
+        StudentFeatures(Long userId, String firstName, String lastName, String skillsText, int[] skills,
+                        Double rating, Integer completedJobs, Integer totalJobs,
+                        double normalizedRating, double completionRate) {
+            this.userId = userId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.skillsText = skillsText;
+            this.skills = skills;
+            this.rating = rating;
+            this.completedJobs = completedJobs;
+            this.totalJobs = totalJobs;
+            this.normalizedRating = normalizedRating;
+            this.completionRate = completionRate;
+        }
+    }
+
+    static final class Scored implements Comparable<Scored> {
+        final StudentFeatures student;
+        final int matched;
+        final double score;
+
+        Scored(StudentFeatures student, int matched, double score) {
+            this.student = student;
+            this.matched = matched;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            int c = Double.compare(score, other.score);
+            // Lower id wins ties so results are stable
+            return c != 0 ? c : Long.compare(other.student.userId, student.userId);
+        }
+    }
+
+    // Splits the student array in halves and merges the halves' top-K heaps
+    private static final class RankTask extends RecursiveTask<PriorityQueue<Scored>> {
+        private final StudentFeatures[] students;
+        private final int from;
+        private final int to;
+        private final int[] required;
+        private final int limit;
+
+        RankTask(StudentFeatures[] students, int from, int to, int[] required, int limit) {
+            this.students = students;
+            this.from = from;
+            this.to = to;
+            this.required = required;
+            this.limit = limit;
+        }
+
+        @Override
+        protected PriorityQueue<Scored> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return rankRange(students, from, to, required, limit);
+            }
+            int mid = (from + to) >>> 1;
+            RankTask left = new RankTask(students, from, mid, required, limit);
+            left.fork();
+            PriorityQueue<Scored> right = new RankTask(students, mid, to, required, limit).compute();
+            PriorityQueue<Scored> merged = left.join();
+            for (Scored scored : right) {
+                offer(merged, scored, limit);
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Change counters for the collections behind the list endpoints, bumped after each
+ * committed change. List GETs build their ETag from these, so answering a
+ * revalidation with 304 runs no SQL, and a plain GET pays nothing extra.
+ *
+ * <p>Counters live in this instance only and are prefixed with a random epoch, so tags
+ * handed out before a restart never match. Like the search index and the open-jobs
+ * feed, they only see changes made through this instance.
+ */
+@Component
+public class CollectionVersions {
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+
+    private final AtomicLong jobs = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong proposals = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        jobs.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        users.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProposalChanged(ProposalChangedEvent event) {
+        proposals.incrementAndGet();
+    }
+
+    public String jobsEtag(String variant) {
+        return etag(variant, jobs.get(), 0, 0);
+    }
+
+    public String usersEtag(String variant) {
+        return etag(variant, 0, users.get(), 0);
+    }
+
+    // Proposal views carry the job title and freelancer name
+    public String proposalsEtag(String variant) {
+        return etag(variant, jobs.get(), users.get(), proposals.get());
+    }
+
+    private String etag(String variant, long jobsVersion, long usersVersion, long proposalsVersion) {
+        CRC32C crc = new CRC32C();
+        crc.update(variant.getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + epoch + "-" + jobsVersion + "." + usersVersion + "." + proposalsVersion
+                + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+}
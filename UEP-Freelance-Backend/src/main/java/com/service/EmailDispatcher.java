@@ -0,0 +1,233 @@
+package com.service;
+
+import com.model.EmailOutbox;
+import com.model.EmailStatus;
+import com.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox in the background. Ids of new rows are handed over through
+ * a bounded in-memory queue; a periodic sweep picks up anything the queue could not
+ * take (full queue, retries, restarts). Each batch goes out over one SMTP connection.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
+
+    private final BlockingQueue<Long> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseSeconds;
+    private final long sweepSeconds;
+    private final long staleClaimMinutes;
+    private final long sentRetentionHours;
+    private final boolean virtualThreads;
+
+    private ExecutorService workerPool;
+    private ScheduledExecutorService sweeper;
+    private volatile boolean running;
+
+    public EmailDispatcher(JavaMailSender mailSender,
+                           EmailOutboxRepository outboxRepository,
+                           @Value("${email.outbox.queue-capacity:1000}") int queueCapacity,
+                           @Value("${email.outbox.workers:2}") int workers,
+                           @Value("${email.outbox.batch-size:50}") int batchSize,
+                           @Value("${email.outbox.max-attempts:5}") int maxAttempts,
+                           @Value("${email.outbox.retry-base-seconds:30}") long retryBaseSeconds,
+                           @Value("${email.outbox.sweep-seconds:30}") long sweepSeconds,
+                           @Value("${email.outbox.stale-claim-minutes:10}") long staleClaimMinutes,
+                           @Value("${email.outbox.sent-retention-hours:168}") long sentRetentionHours,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mailSender = mailSender;
+        this.outboxRepository = outboxRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseSeconds = retryBaseSeconds;
+        this.sweepSeconds = sweepSeconds;
+        this.staleClaimMinutes = staleClaimMinutes;
+        this.sentRetentionHours = sentRetentionHours;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        // Workers spend their time blocked on SMTP and JDBC, so they follow the virtual-thread mode
+        workerPool = Executors.newFixedThreadPool(workers, BackgroundThreads.factory("email-worker", virtualThreads));
+        for (int i = 0; i < workers; i++) {
+            workerPool.submit(this::drainLoop);
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(BackgroundThreads.factory("email-sweeper", false));
+        sweeper.scheduleWithFixedDelay(this::sweep, 0, sweepSeconds, TimeUnit.SECONDS);
+        logger.info("Email dispatcher started with {} workers", workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (sweeper != null) sweeper.shutdownNow();
+        if (workerPool != null) workerPool.shutdownNow();
+    }
+
+    /** Hand a freshly written outbox row to the workers; false if the queue is full (the sweep will find it). */
+    public boolean offer(Long outboxId) {
+        return queue.offer(outboxId);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<Long> ids = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Long first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                ids.add(first);
+                queue.drainTo(ids, batchSize - 1);
+                processBatch(ids);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Email batch failed", e);
+            } finally {
+                ids.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<Long> ids) {
+        String token = UUID.randomUUID().toString();
+        if (outboxRepository.claim(ids, token, LocalDateTime.now()) == 0) {
+            return;
+        }
+        List<EmailOutbox> rows = outboxRepository.findByClaimToken(token);
+        sendBatch(rows);
+        outboxRepository.saveAll(rows);
+    }
+
+    /**
+     * Send the rows over one connection and record the outcome on each row
+     * (SENT, or PENDING with backoff, or FAILED after the last attempt).
+     */
+    void sendBatch(List<EmailOutbox> rows) {
+        if (rows.isEmpty()) return;
+
+        Map<SimpleMailMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            EmailOutbox row = rows.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(row.getRecipient());
+            message.setSubject(row.getSubject());
+            message.setText(row.getBody());
+            messages[i] = message;
+            byMessage.put(message, row);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) batchFailure = e;
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (SimpleMailMessage message : messages) {
+            EmailOutbox row = byMessage.get(message);
+            Exception error = batchFailure != null ? batchFailure : failures.get(message);
+            if (error == null) {
+                row.setStatus(EmailStatus.SENT);
+                row.setSentAt(now);
+                row.setLastError(null);
+            } else {
+                scheduleRetry(row, error, now);
+            }
+            row.setClaimToken(null);
+        }
+    }
+
+    private void scheduleRetry(EmailOutbox row, Exception error, LocalDateTime now) {
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        row.setLastError(truncate(error.getMessage()));
+        if (attempts >= maxAttempts) {
+            row.setStatus(EmailStatus.FAILED);
+            logger.warn("Giving up on email {} to {} after {} attempts: {}", row.getId(), row.getRecipient(), attempts, error.getMessage());
+            return;
+        }
+        // Exponential backoff with jitter so a recovering SMTP server is not hit all at once
+        long backoff = Math.min(MAX_BACKOFF_SECONDS, retryBaseSeconds << Math.min(attempts - 1, 20));
+        long jitter = ThreadLocalRandom.current().nextLong(Math.max(1, backoff / 5));
+        row.setStatus(EmailStatus.PENDING);
+        row.setNextAttemptAt(now.plusSeconds(backoff + jitter));
+    }
+
+    private void sweep() {
+        try {
+            int released = outboxRepository.releaseStale(LocalDateTime.now().minusMinutes(staleClaimMinutes));
+            if (released > 0) {
+                logger.warn("Released {} stale email claims", released);
+            }
+            // Keep the table, and with it every sweep query, from growing with each email ever sent
+            if (sentRetentionHours > 0) {
+                int purged = outboxRepository.deleteSentBefore(LocalDateTime.now().minusHours(sentRetentionHours));
+                if (purged > 0) {
+                    logger.debug("Deleted {} sent emails past retention", purged);
+                }
+            }
+            int room = queue.remainingCapacity();
+            if (room == 0) return;
+            for (Long id : outboxRepository.findDueIds(LocalDateTime.now(), Limit.of(room))) {
+                if (!queue.offer(id)) break;
+            }
+        } catch (Exception e) {
+            logger.error("Email outbox sweep failed", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
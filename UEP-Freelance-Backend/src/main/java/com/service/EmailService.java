@@ -1,50 +1,74 @@
 package com.service;
 
+import com.model.EmailOutbox;
+import com.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queues notification emails. Nothing is sent on the caller's thread: each email is
+ * written to the outbox and delivered by {@link EmailDispatcher}.
+ */
 @Service
 public class EmailService {
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private EmailDispatcher emailDispatcher;
     
     public void sendWelcomeEmail(String to, String name) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Welcome to UEP Freelance Network!");
-        message.setText("Dear " + name + ",\n\nWelcome to the UEP Freelance Network! "
+        enqueue(to, "Welcome to UEP Freelance Network!",
+                "Dear " + name + ",\n\nWelcome to the UEP Freelance Network! "
                       + "We're excited to have you on board.\n\n"
                       + "Best regards,\nUEP Freelance Team");
-        
-        mailSender.send(message);
     }
     
     public void sendJobNotification(String to, String jobTitle, String clientName) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("New Job Posted: " + jobTitle);
-        message.setText("Hello,\n\nA new job has been posted:\n\n"
-                      + "Job Title: " + jobTitle + "\n"
-                      + "Posted by: " + clientName + "\n\n"
-                      + "Login to your account to view and apply for this job.\n\n"
-                      + "Best regards,\nUEP Freelance Team");
-        
-        mailSender.send(message);
+        sendJobNotifications(List.of(to), jobTitle, clientName);
+    }
+    
+    // Same email to many students; all rows are written in one transaction
+    public void sendJobNotifications(List<String> recipients, String jobTitle, String clientName) {
+        String subject = "New Job Posted: " + jobTitle;
+        String body = "Hello,\n\nA new job has been posted:\n\n"
+                    + "Job Title: " + jobTitle + "\n"
+                    + "Posted by: " + clientName + "\n\n"
+                    + "Login to your account to view and apply for this job.\n\n"
+                    + "Best regards,\nUEP Freelance Team";
+        List<EmailOutbox> emails = new ArrayList<>(recipients.size());
+        for (String to : recipients) {
+            emails.add(newEmail(to, subject, body));
+        }
+        for (EmailOutbox saved : outboxRepository.saveAll(emails)) {
+            emailDispatcher.offer(saved.getId());
+        }
     }
     
     public void sendProposalNotification(String to, String jobTitle, String freelancerName) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("New Proposal for: " + jobTitle);
-        message.setText("Hello,\n\nYou have received a new proposal for your job:\n\n"
+        enqueue(to, "New Proposal for: " + jobTitle,
+                "Hello,\n\nYou have received a new proposal for your job:\n\n"
                       + "Job Title: " + jobTitle + "\n"
                       + "From: " + freelancerName + "\n\n"
                       + "Login to your account to review the proposal.\n\n"
                       + "Best regards,\nUEP Freelance Team");
-        
-        mailSender.send(message);
     }
-}
\ No newline at end of file
+    
+    // Persist first so the email survives a crash, then wake a worker
+    private void enqueue(String to, String subject, String body) {
+        EmailOutbox saved = outboxRepository.save(newEmail(to, subject, body));
+        emailDispatcher.offer(saved.getId());
+    }
+    
+    private static EmailOutbox newEmail(String to, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        return email;
+    }
+}
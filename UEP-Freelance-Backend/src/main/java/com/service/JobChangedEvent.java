@@ -0,0 +1,63 @@
+package com.service;
+
+import com.model.Job;
+
+/**
+ * Published by the job service whenever a job is created, edited, changes status or
+ * is deleted. Listeners that keep derived state (indexes, feeds, notifications) should
+ * react after the transaction commits.
+ */
+public class JobChangedEvent {
+
+    public enum Kind {
+        CREATED,
+        // Created by a bulk import; indexed like CREATED but students are not notified
+        IMPORTED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Kind kind;
+    private final Long jobId;
+    // The saved job; null for DELETED
+    private final Job job;
+
+    public JobChangedEvent(Kind kind, Long jobId, Job job) {
+        this.kind = kind;
+        this.jobId = jobId;
+        this.job = job;
+    }
+
+    public static JobChangedEvent created(Job job) {
+        return new JobChangedEvent(Kind.CREATED, job.getId(), job);
+    }
+
+    public static JobChangedEvent imported(Job job) {
+        return new JobChangedEvent(Kind.IMPORTED, job.getId(), job);
+    }
+
+    public static JobChangedEvent updated(Job job) {
+        return new JobChangedEvent(Kind.UPDATED, job.getId(), job);
+    }
+
+    public static JobChangedEvent statusChanged(Job job) {
+        return new JobChangedEvent(Kind.STATUS_CHANGED, job.getId(), job);
+    }
+
+    public static JobChangedEvent deleted(Long jobId) {
+        return new JobChangedEvent(Kind.DELETED, jobId, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public Job getJob() {
+        return job;
+    }
+}
@@ -0,0 +1,97 @@
+package com.service;
+
+import com.model.Job;
+import com.model.JobStatus;
+import com.model.User;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells students about new jobs that match their skills. Runs after the job is
+ * committed and does all of its work on a background thread, so posting a job costs
+ * the same no matter how many students there are.
+ */
+@Component
+public class JobNotificationFanout {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobNotificationFanout.class);
+
+    private final StudentSkillIndex studentSkillIndex;
+    private final SkillDictionary skillDictionary;
+    private final EmailService emailService;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+
+    public JobNotificationFanout(StudentSkillIndex studentSkillIndex,
+                                 SkillDictionary skillDictionary,
+                                 EmailService emailService,
+                                 @Value("${notifications.job.enabled:true}") boolean enabled,
+                                 @Value("${notifications.job.chunk-size:200}") int chunkSize,
+                                 @Value("${notifications.job.queue-capacity:100}") int queueCapacity,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.studentSkillIndex = studentSkillIndex;
+        this.skillDictionary = skillDictionary;
+        this.emailService = emailService;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                BackgroundThreads.factory("job-notification-fanout", virtualThreads));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (!enabled || event.getKind() != JobChangedEvent.Kind.CREATED) return;
+        Job job = event.getJob();
+        if (job.getStatus() != JobStatus.OPEN) return;
+
+        // Copy what the worker needs; the entity must not be touched off this thread
+        Long jobId = job.getId();
+        String title = job.getTitle();
+        String skills = JobRecommendationService.skillsOf(job);
+        String clientName = clientName(job.getClient());
+        try {
+            executor.execute(() -> fanOut(jobId, title, skills, clientName));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Notification queue full, students will not be notified about job {}", jobId);
+        }
+    }
+
+    private void fanOut(Long jobId, String title, String skills, String clientName) {
+        try {
+            // Only skills some student already has can match; don't grow the dictionary here
+            List<String> recipients = studentSkillIndex.emailsMatching(skillDictionary.lookupAll(skills));
+            for (int from = 0; from < recipients.size(); from += chunkSize) {
+                List<String> chunk = recipients.subList(from, Math.min(recipients.size(), from + chunkSize));
+                emailService.sendJobNotifications(chunk, title, clientName);
+            }
+            logger.debug("Queued notifications about job {} for {} students", jobId, recipients.size());
+        } catch (Exception e) {
+            logger.error("Failed to notify students about job {}", jobId, e);
+        }
+    }
+
+    private static String clientName(User client) {
+        if (client == null || !Hibernate.isInitialized(client)) return "UEP Freelance client";
+        if (client.getCompany() != null && !client.getCompany().isBlank()) return client.getCompany();
+        return client.getFirstName() + " " + client.getLastName();
+    }
+}
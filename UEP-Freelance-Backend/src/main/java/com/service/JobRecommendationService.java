@@ -0,0 +1,194 @@
+package com.service;
+
+import com.model.Job;
+import com.model.JobStatus;
+import com.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recommends open jobs to a student by skill overlap. Every open job is kept as a
+ * bitset over {@link SkillDictionary} ids, with a skill -> open jobs posting list, so
+ * a feed only touches jobs sharing at least one skill with the student. Jobs enter
+ * and leave the index as they open and close.
+ */
+@Component
+public class JobRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRecommendationService.class);
+
+    private final Map<Long, OpenJob> openJobs = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Long>> jobsBySkill = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<Job> jobs = jobRepository.findByStatus(JobStatus.OPEN);
+        synchronized (this) {
+            openJobs.clear();
+            jobsBySkill.clear();
+            for (Job job : jobs) {
+                add(job);
+            }
+        }
+        logger.info("Indexed {} open jobs for recommendations in {} ms", jobs.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getKind() == JobChangedEvent.Kind.DELETED) {
+            remove(event.getJobId());
+        } else {
+            update(event.getJob());
+        }
+    }
+
+    // Index the job if it is open, otherwise drop it
+    public synchronized void update(Job job) {
+        if (job == null || job.getId() == null) return;
+        removeFromIndex(job.getId());
+        if (job.getStatus() == JobStatus.OPEN) {
+            add(job);
+        }
+    }
+
+    public synchronized void remove(Long jobId) {
+        if (jobId == null) return;
+        removeFromIndex(jobId);
+    }
+
+    /**
+     * Ids of the best {@code limit} open jobs for the given skill ids (sorted, distinct),
+     * by cosine similarity of the skill sets; ties go to the newer job.
+     */
+    public List<Long> recommend(int[] skillIds, int limit) {
+        if (skillIds.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> candidates = new HashSet<>();
+        for (int skillId : skillIds) {
+            Set<Long> holders = jobsBySkill.get(skillId);
+            if (holders != null) candidates.addAll(holders);
+        }
+
+        // Min-heap of the best `limit` jobs seen so far; the root is the weakest
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1);
+        for (Long id : candidates) {
+            OpenJob job = openJobs.get(id);
+            if (job == null) continue;
+            int overlap = 0;
+            for (int skillId : skillIds) {
+                if (job.skills.get(skillId)) overlap++;
+            }
+            if (overlap == 0) continue;
+            double score = overlap / Math.sqrt((double) skillIds.length * job.skillCount);
+            Scored scored = new Scored(id, score, job.createdAtMillis);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (scored.compareTo(top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().jobId);
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    public int size() {
+        return openJobs.size();
+    }
+
+    private void add(Job job) {
+        int[] ids = skillDictionary.internAll(skillsOf(job));
+        if (ids.length == 0) return;
+        BitSet skills = new BitSet();
+        for (int id : ids) {
+            skills.set(id);
+            jobsBySkill.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(job.getId());
+        }
+        long createdAt = job.getCreatedAt() != null
+                ? job.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        openJobs.put(job.getId(), new OpenJob(skills, ids.length, createdAt));
+    }
+
+    private void removeFromIndex(Long jobId) {
+        OpenJob previous = openJobs.remove(jobId);
+        if (previous == null) return;
+        for (int id = previous.skills.nextSetBit(0); id >= 0; id = previous.skills.nextSetBit(id + 1)) {
+            Set<Long> holders = jobsBySkill.get(id);
+            if (holders != null) {
+                holders.remove(jobId);
+                if (holders.isEmpty()) jobsBySkill.remove(id);
+            }
+        }
+    }
+
+    // The category counts as a required skill
+    public static String skillsOf(Job job) {
+        if (job.getCategory() == null) return job.getSkillsRequired();
+        if (job.getSkillsRequired() == null) return job.getCategory();
+        return job.getCategory() + "," + job.getSkillsRequired();
+    }
+
+    private static final class OpenJob {
+        final BitSet skills;
+        final int skillCount;
+        final long createdAtMillis;
+
+        OpenJob(BitSet skills, int skillCount, long createdAtMillis) {
+            this.skills = skills;
+            this.skillCount = skillCount;
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+
+    private static final class Scored implements Comparable<Scored> {
+        final Long jobId;
+        final double score;
+        final long createdAtMillis;
+
+        Scored(Long jobId, double score, long createdAtMillis) {
+            this.jobId = jobId;
+            this.score = score;
+            this.createdAtMillis = createdAtMillis;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            int c = Double.compare(score, other.score);
+            if (c != 0) return c;
+            c = Long.compare(createdAtMillis, other.createdAtMillis);
+            return c != 0 ? c : Long.compare(jobId, other.jobId);
+        }
+    }
+}
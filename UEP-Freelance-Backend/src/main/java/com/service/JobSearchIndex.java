@@ -0,0 +1,357 @@
+package com.service;
+
+import com.model.Job;
+import com.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory inverted index over job title, description and required skills.
+ * Keyword searches are answered from here so the database is only used to
+ * load the matched rows by id.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    // BM25 tuning
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Terms that only match as a prefix ("dev" -> "development") count for less
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    // Recency boost halves every RECENCY_HALF_LIFE_DAYS
+    private static final double RECENCY_WEIGHT = 0.5;
+    private static final double RECENCY_HALF_LIFE_DAYS = 14.0;
+    private static final double BUDGET_FIT_WEIGHT = 0.25;
+
+    /** Indexed text fields and their BM25F weights. */
+    enum Field {
+        TITLE(3.0),
+        DESCRIPTION(1.0),
+        SKILLS(2.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    // term -> ids of jobs containing it; kept sorted so prefixes can be scanned
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    // id -> what was indexed for that job, used for scoring and to drop stale postings
+    private final Map<Long, IndexedJob> documents = new ConcurrentHashMap<>();
+
+    // sum of field lengths over all documents, for the average field length
+    private final AtomicLongArray totalFieldLengths = new AtomicLongArray(FIELDS.length);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<Job> jobs = jobRepository.findAll();
+        synchronized (this) {
+            postings.clear();
+            documents.clear();
+            for (int f = 0; f < FIELDS.length; f++) {
+                totalFieldLengths.set(f, 0);
+            }
+            for (Job job : jobs) {
+                addToIndex(job);
+            }
+        }
+        logger.info("Indexed {} jobs for search in {} ms", jobs.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Only committed changes reach the index, so a rolled-back import leaves no ghost ids behind
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        switch (event.getKind()) {
+            case CREATED:
+            case IMPORTED:
+            case UPDATED:
+                index(event.getJob());
+                break;
+            case DELETED:
+                remove(event.getJobId());
+                break;
+            default:
+                // Status is not part of the search text
+                break;
+        }
+    }
+
+    // Add or replace a job in the index
+    public synchronized void index(Job job) {
+        if (job == null || job.getId() == null) return;
+        removeFromIndex(job.getId());
+        addToIndex(job);
+    }
+
+    // Remove a job from the index
+    public synchronized void remove(Long id) {
+        if (id == null) return;
+        removeFromIndex(id);
+    }
+
+    /**
+     * Find jobs whose text contains every keyword term (each term also matches as a
+     * prefix, so "dev" finds "development"). Results are newest first.
+     */
+    public List<Long> search(String keyword, String category) {
+        List<String> terms = tokenize(keyword);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> matches = null;
+        for (String term : new HashSet<>(terms)) {
+            Set<Long> termMatches = matchPrefix(term);
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.retainAll(termMatches);
+            }
+            if (matches.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Long id : matches) {
+            IndexedJob doc = documents.get(id);
+            if (doc != null && (category == null || category.equals(doc.category))) {
+                ids.add(id);
+            }
+        }
+        ids.sort(Comparator.reverseOrder());
+        return ids;
+    }
+
+    /**
+     * Rank jobs matching any query term by BM25F over title, description and skills,
+     * boosted by recency and by how well the budget fits the optional range. Only the
+     * best {@code limit} jobs are kept, in a bounded min-heap.
+     */
+    public List<Long> rankedSearch(String query, String category, BigDecimal budgetMin, BigDecimal budgetMax, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int docCount = documents.size();
+        double[] avgFieldLengths = new double[FIELDS.length];
+        for (int f = 0; f < FIELDS.length; f++) {
+            avgFieldLengths[f] = docCount == 0 ? 1.0 : Math.max(1.0, (double) totalFieldLengths.get(f) / docCount);
+        }
+
+        // Accumulate text relevance per matching job
+        Map<Long, double[]> textScores = new HashMap<>();
+        for (String queryTerm : terms) {
+            for (Map.Entry<String, Set<Long>> entry : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).entrySet()) {
+                String term = entry.getKey();
+                Set<Long> posting = entry.getValue();
+                double idf = Math.log(1.0 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                double matchWeight = term.equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+
+                for (Long id : posting) {
+                    IndexedJob doc = documents.get(id);
+                    if (doc == null || (category != null && !category.equals(doc.category))) continue;
+                    int[] tf = doc.termFrequencies.get(term);
+                    if (tf == null) continue;
+
+                    double weightedTf = 0.0;
+                    for (int f = 0; f < FIELDS.length; f++) {
+                        if (tf[f] == 0) continue;
+                        double norm = 1.0 - B + B * doc.fieldLengths[f] / avgFieldLengths[f];
+                        weightedTf += FIELDS[f].weight * tf[f] / norm;
+                    }
+                    double termScore = matchWeight * idf * weightedTf * (K1 + 1.0) / (weightedTf + K1);
+                    textScores.computeIfAbsent(id, k -> new double[1])[0] += termScore;
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        PriorityQueue<ScoredJob> top = new PriorityQueue<>(Math.min(limit, Math.max(1, textScores.size())) + 1);
+        for (Map.Entry<Long, double[]> entry : textScores.entrySet()) {
+            IndexedJob doc = documents.get(entry.getKey());
+            if (doc == null) continue;
+            double score = entry.getValue()[0]
+                    * recencyBoost(doc.createdAtMillis, now)
+                    * budgetBoost(doc.budget, budgetMin, budgetMax);
+
+            if (top.size() < limit) {
+                top.add(new ScoredJob(entry.getKey(), score));
+            } else if (score > top.peek().score) {
+                top.poll();
+                top.add(new ScoredJob(entry.getKey(), score));
+            }
+        }
+
+        List<ScoredJob> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.reverseOrder());
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (ScoredJob scored : ranked) {
+            ids.add(scored.id);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private static double recencyBoost(long createdAtMillis, long now) {
+        if (createdAtMillis <= 0) return 1.0;
+        double ageDays = Math.max(0, now - createdAtMillis) / 86_400_000.0;
+        return 1.0 + RECENCY_WEIGHT * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+    }
+
+    // Full boost inside [min, max]; fades out linearly with relative distance outside it
+    private static double budgetBoost(BigDecimal budget, BigDecimal min, BigDecimal max) {
+        if (budget == null || (min == null && max == null)) return 1.0;
+        double value = budget.doubleValue();
+        double distance = 0.0;
+        if (min != null && value < min.doubleValue()) {
+            distance = (min.doubleValue() - value) / Math.max(1.0, min.doubleValue());
+        } else if (max != null && value > max.doubleValue()) {
+            distance = (value - max.doubleValue()) / Math.max(1.0, max.doubleValue());
+        }
+        return 1.0 + BUDGET_FIT_WEIGHT * Math.max(0.0, 1.0 - distance);
+    }
+
+    private Set<Long> matchPrefix(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> posting : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            ids.addAll(posting);
+        }
+        return ids;
+    }
+
+    private void addToIndex(Job job) {
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELDS.length];
+        addField(termFrequencies, fieldLengths, Field.TITLE, job.getTitle());
+        addField(termFrequencies, fieldLengths, Field.DESCRIPTION, job.getDescription());
+        addField(termFrequencies, fieldLengths, Field.SKILLS, job.getSkillsRequired());
+
+        for (String term : termFrequencies.keySet()) {
+            postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(job.getId());
+        }
+        for (int f = 0; f < FIELDS.length; f++) {
+            totalFieldLengths.addAndGet(f, fieldLengths[f]);
+        }
+
+        long createdAtMillis = job.getCreatedAt() != null
+                ? job.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        documents.put(job.getId(), new IndexedJob(termFrequencies, fieldLengths, job.getCategory(), createdAtMillis, job.getBudget()));
+    }
+
+    private static void addField(Map<String, int[]> termFrequencies, int[] fieldLengths, Field field, String text) {
+        List<String> tokens = tokenize(text);
+        fieldLengths[field.ordinal()] = tokens.size();
+        for (String token : tokens) {
+            termFrequencies.computeIfAbsent(token, t -> new int[FIELDS.length])[field.ordinal()]++;
+        }
+    }
+
+    private void removeFromIndex(Long id) {
+        IndexedJob previous = documents.remove(id);
+        if (previous == null) return;
+        for (int f = 0; f < FIELDS.length; f++) {
+            totalFieldLengths.addAndGet(f, -previous.fieldLengths[f]);
+        }
+        for (String term : previous.termFrequencies.keySet()) {
+            Set<Long> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term, posting);
+                }
+            }
+        }
+    }
+
+    /** Lower-case the text and split it on anything that is not a letter or digit. */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class IndexedJob {
+        private final Map<String, int[]> termFrequencies;
+        private final int[] fieldLengths;
+        private final String category;
+        private final long createdAtMillis;
+        private final BigDecimal budget;
+
+        private IndexedJob(Map<String, int[]> termFrequencies, int[] fieldLengths, String category,
+                           long createdAtMillis, BigDecimal budget) {
+            this.termFrequencies = termFrequencies;
+            this.fieldLengths = fieldLengths;
+            this.category = category;
+            this.createdAtMillis = createdAtMillis;
+            this.budget = budget;
+        }
+    }
+
+    private static final class ScoredJob implements Comparable<ScoredJob> {
+        private final Long id;
+        private final double score;
+
+        private ScoredJob(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredJob other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(id, other.id);
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.service;
 
+import com.dto.BulkCreateResult;
+import com.dto.CandidateDTO;
+import com.dto.CursorPage;
 import com.dto.JobDTO;
+import com.dto.JobSummary;
+import com.dto.VersionStamp;
 import com.model.JobStatus;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface JobService {
@@ -9,12 +17,37 @@ public interface JobService {
     // Create a new job
     JobDTO createJob(JobDTO jobDTO);
     
+    // Insert many jobs in JDBC batches; all or nothing
+    BulkCreateResult createJobs(List<JobDTO> jobDTOs);
+    
     // Get all jobs
     List<JobDTO> getAllJobs();
     
     // Get only open jobs
     List<JobDTO> getOpenJobs();
     
+    // Keyset-paginated variants of getAllJobs / getOpenJobs, newest first
+    CursorPage<JobDTO> getJobsPage(String cursor, int limit);
+    
+    CursorPage<JobDTO> getOpenJobsPage(String cursor, int limit);
+    
+    // Summary variants for list views: no full description, newest first
+    List<JobSummary> getJobSummaries();
+    
+    CursorPage<JobSummary> getJobSummariesPage(String cursor, int limit);
+    
+    CursorPage<JobSummary> getOpenJobSummariesPage(String cursor, int limit);
+    
+    List<JobSummary> searchJobSummaries(String keyword, String category);
+    
+    List<JobSummary> rankedSearchSummaries(String query, String category, BigDecimal budgetMin, BigDecimal budgetMax, int limit);
+    
+    // Fingerprint of one job, for conditional GETs
+    VersionStamp getJobVersion(Long id);
+    
+    // Write every job to `out` as newline-delimited JSON; returns the number of jobs written
+    long exportJobs(OutputStream out) throws IOException;
+    
     // Get job by ID
     JobDTO getJobById(Long id);
     
@@ -24,6 +57,15 @@ public interface JobService {
     // Search jobs by keyword and/or category
     List<JobDTO> searchJobs(String keyword, String category);
     
+    // Multi-term search ranked by relevance, recency and budget fit; returns the best `limit` jobs
+    List<JobDTO> rankedSearch(String query, String category, BigDecimal budgetMin, BigDecimal budgetMax, int limit);
+    
+    // Open jobs best matching the current student's skills, best first
+    List<JobDTO> getRecommendedJobs(int limit);
+    
+    // Active students best suited to a job, best first
+    List<CandidateDTO> getCandidates(Long jobId, int limit);
+    
     // Update job status
     JobDTO updateJobStatus(Long id, JobStatus status);
     
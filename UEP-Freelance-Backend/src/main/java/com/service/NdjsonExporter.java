@@ -0,0 +1,55 @@
+package com.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of entities as newline-delimited JSON, one DTO per line.
+ * Must be called inside a transaction so the JPA stream stays open.
+ */
+@Component
+public class NdjsonExporter {
+
+    // Rows between persistence-context clears and output flushes
+    private static final int CHUNK_SIZE = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public <E, T> long write(Stream<E> rows, Function<E, T> toDto, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            Iterator<E> it = rows.iterator();
+            while (it.hasNext()) {
+                writer.write(toDto.apply(it.next()));
+                count++;
+                if (count % CHUNK_SIZE == 0) {
+                    // Drop already-written entities so memory stays flat on large tables
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            if (count > 0) {
+                // NDJSON lines are newline-terminated, including the last one
+                out.write('\n');
+            }
+        } finally {
+            rows.close();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,212 @@
+package com.service;
+
+import com.dto.JobSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.model.Job;
+import com.model.JobStatus;
+import com.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The open-jobs list as ready-to-send JSON bytes, newest first. Each open job is
+ * serialized once when it changes; the full response body is stitched together from
+ * those pieces on the first read after a change and then shared by every request
+ * until the next one. Readers never touch the database or Jackson.
+ */
+@Component
+public class OpenJobsFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenJobsFeed.class);
+
+    private static final byte[] OPEN = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE = "]".getBytes(StandardCharsets.UTF_8);
+
+    // Same order as JobRepository's summary queries: createdAt desc, then id desc
+    private static final Comparator<Key> NEWEST_FIRST = Comparator.comparing((Key k) -> k.createdAt)
+            .thenComparing(k -> k.id)
+            .reversed();
+
+    // Serialized summary of every open job, kept in feed order
+    private final ConcurrentSkipListMap<Key, byte[]> entries = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final Map<Long, Key> keys = new ConcurrentHashMap<>();
+
+    private final JobRepository jobRepository;
+    private final ObjectWriter writer;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty = true;
+
+    public OpenJobsFeed(JobRepository jobRepository, ObjectMapper objectMapper) {
+        this.jobRepository = jobRepository;
+        this.writer = objectMapper.writerFor(JobSummary.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<JobSummary> open = jobRepository.findSummariesByStatus(JobStatus.OPEN);
+        synchronized (this) {
+            entries.clear();
+            keys.clear();
+            for (JobSummary summary : open) {
+                put(summary);
+            }
+            dirty = true;
+        }
+        logger.info("Open jobs feed loaded with {} jobs", open.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        synchronized (this) {
+            removeEntry(event.getJobId());
+            if (job != null && job.getStatus() == JobStatus.OPEN) {
+                put(JobSummary.fromModel(job));
+            }
+            dirty = true;
+        }
+    }
+
+    /** The current feed; rebuilt from the per-job bytes if anything changed since the last call. */
+    public Snapshot current() {
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    dirty = false;
+                    snapshot = assemble();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private void put(JobSummary summary) {
+        Key key = new Key(summary.getCreatedAt() != null ? summary.getCreatedAt() : LocalDateTime.MIN, summary.getId());
+        try {
+            entries.put(key, writer.writeValueAsBytes(summary));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        keys.put(summary.getId(), key);
+    }
+
+    private void removeEntry(Long jobId) {
+        Key key = keys.remove(jobId);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    // Called with the lock held
+    private Snapshot assemble() {
+        int count = entries.size();
+        int size = OPEN.length + CLOSE.length + Math.max(0, count - 1) * SEPARATOR.length;
+        for (byte[] entry : entries.values()) {
+            size += entry.length;
+        }
+        byte[] body = new byte[size];
+        int pos = 0;
+        System.arraycopy(OPEN, 0, body, pos, OPEN.length);
+        pos += OPEN.length;
+        boolean first = true;
+        for (byte[] entry : entries.values()) {
+            if (!first) {
+                System.arraycopy(SEPARATOR, 0, body, pos, SEPARATOR.length);
+                pos += SEPARATOR.length;
+            }
+            System.arraycopy(entry, 0, body, pos, entry.length);
+            pos += entry.length;
+            first = false;
+        }
+        System.arraycopy(CLOSE, 0, body, pos, CLOSE.length);
+        return new Snapshot(body, digest(body), count);
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** One immutable version of the feed. */
+    public static final class Snapshot {
+        private final byte[] body;
+        private final String strongEtag;
+        private final String weakEtag;
+        private final int jobCount;
+
+        Snapshot(byte[] body, String digest, int jobCount) {
+            this.body = body;
+            // Content hash, so the tag survives restarts and is the same on every instance
+            this.strongEtag = "\"" + digest + "\"";
+            // What a compressing proxy turns the strong tag into; clients echo it back as-is
+            this.weakEtag = "W/" + strongEtag;
+            this.jobCount = jobCount;
+        }
+
+        // Callers must not modify the returned array
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getStrongEtag() {
+            return strongEtag;
+        }
+
+        public String getWeakEtag() {
+            return weakEtag;
+        }
+
+        public int getJobCount() {
+            return jobCount;
+        }
+
+        /** Weak comparison as If-None-Match requires; accepts either tag and "*". */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) return true;
+                String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+                if (opaque.equals(strongEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Key {
+        final LocalDateTime createdAt;
+        final Long id;
+
+        Key(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.service;
+
+/**
+ * Published when a proposal is submitted, withdrawn or changes status (including the
+ * bulk rejection that follows an accept), so in-memory views can be refreshed.
+ */
+public class ProposalChangedEvent {
+
+    private final Long proposalId;
+
+    public ProposalChangedEvent(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+}
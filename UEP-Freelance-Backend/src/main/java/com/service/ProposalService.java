@@ -2,16 +2,30 @@ package com.service;
 
 import org.apache.catalina.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.dto.CursorPage;
+import com.dto.PageCursor;
 import com.dto.ProposalDTO;
+import com.dto.ProposalView;
 import com.model.Job;
+import com.model.JobStatus;
 import com.model.Proposal;
 import com.model.ProposalStatus;
+import com.model.UserRole;
 import com.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +46,22 @@ public class ProposalService {
     @Autowired
     private JobService jobService;
     
+    // Spring Data repositories backing the paginated listings
+    @Autowired
+    private com.repository.ProposalRepository jpaProposalRepository;
+    
+    @Autowired
+    private com.repository.JobRepository jpaJobRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Attempts for acceptProposal before a lost race is reported as a conflict
+    private static final int MAX_ACCEPT_ATTEMPTS = 3;
+    
     public ProposalDTO submitProposal(Long jobId, ProposalDTO proposalDTO) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User freelancer = (User) userRepository.findByEmail(email)
@@ -55,6 +85,7 @@ public class ProposalService {
         proposal.setStatus(ProposalStatus.PENDING);
         
         Proposal savedProposal = proposalRepository.save(proposal);
+        eventPublisher.publishEvent(new ProposalChangedEvent(savedProposal.getId()));
         return convertToDTO(savedProposal);
     }
     
@@ -94,6 +125,7 @@ public class ProposalService {
         
         proposal.setStatus(status);
         Proposal updatedProposal = proposalRepository.save(proposal);
+        eventPublisher.publishEvent(new ProposalChangedEvent(proposalId));
         return convertToDTO(updatedProposal);
     }
     
@@ -111,6 +143,102 @@ public class ProposalService {
         
         proposal.setStatus(ProposalStatus.WITHDRAWN);
         proposalRepository.save(proposal);
+        eventPublisher.publishEvent(new ProposalChangedEvent(proposalId));
+    }
+    
+    /**
+     * Accept a proposal: the job moves to IN_PROGRESS and every other pending proposal
+     * for it is rejected, all in one transaction. Job and proposal are version-checked,
+     * so of two concurrent accepts for the same job exactly one commits; the loser is
+     * retried, finds the job taken and gets an IllegalStateException. Two accepts of
+     * different proposals can also deadlock on each other's rows, so a deadlock is
+     * retried the same way.
+     *
+     * @throws NoSuchElementException if the proposal does not exist
+     * @throws AccessDeniedException if the current user neither owns the job nor is an admin
+     * @throws IllegalStateException if the proposal is not pending or the job is not open
+     * @throws ConcurrencyFailureException if every attempt lost a race
+     */
+    public ProposalDTO acceptProposal(Long proposalId) {
+        com.model.User user = currentUser();
+        boolean admin = user.getRole() == UserRole.ADMIN;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(status -> doAccept(proposalId, user.getId(), admin));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ACCEPT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private ProposalDTO doAccept(Long proposalId, Long userId, boolean admin) {
+        Proposal proposal = jpaProposalRepository.findById(proposalId)
+                .orElseThrow(() -> new NoSuchElementException("Proposal not found"));
+        Job job = proposal.getJob();
+        // Admins may accept on a client's behalf, matching the /accept rule in SecurityConfig
+        if (!admin && (job.getClient() == null || !job.getClient().getId().equals(userId))) {
+            throw new AccessDeniedException("Only the client who posted the job can accept proposals");
+        }
+        if (proposal.getStatus() != ProposalStatus.PENDING) {
+            throw new IllegalStateException("Proposal is no longer pending");
+        }
+        if (job.getStatus() != JobStatus.OPEN) {
+            throw new IllegalStateException("Job is no longer open");
+        }
+        
+        job.setStatus(JobStatus.IN_PROGRESS);
+        proposal.setStatus(ProposalStatus.ACCEPTED);
+        // The flush before the bulk UPDATE runs the version checks; a lost race fails here
+        jpaProposalRepository.rejectOtherPending(job.getId(), proposal.getId(), LocalDateTime.now());
+        eventPublisher.publishEvent(JobChangedEvent.statusChanged(job));
+        eventPublisher.publishEvent(new ProposalChangedEvent(proposal.getId()));
+        return ProposalDTO.fromModel(proposal);
+    }
+    
+    // Proposals submitted by the current student, newest first. The listings read flat
+    // ProposalView rows, one join query per page, so no association is loaded per row
+    public CursorPage<ProposalView> getMyProposalsPage(String cursor, int limit) {
+        com.model.User freelancer = currentUser();
+        PageCursor after = PageCursor.decode(cursor);
+        List<ProposalView> rows = after == null
+                ? jpaProposalRepository.findFirstPageByFreelancerId(freelancer.getId(), Limit.of(limit + 1))
+                : jpaProposalRepository.findPageByFreelancerIdAfter(freelancer.getId(), after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Function.identity(), this::cursorOf);
+    }
+    
+    // Proposals for one job, newest first
+    public CursorPage<ProposalView> getProposalsByJobPage(Long jobId, String cursor, int limit) {
+        if (!jpaJobRepository.existsById(jobId)) {
+            throw new NoSuchElementException("Job not found");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        List<ProposalView> rows = after == null
+                ? jpaProposalRepository.findFirstPageByJobId(jobId, Limit.of(limit + 1))
+                : jpaProposalRepository.findPageByJobIdAfter(jobId, after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Function.identity(), this::cursorOf);
+    }
+    
+    // Proposals received on any of the current client's jobs, newest first
+    public CursorPage<ProposalView> getReceivedProposalsPage(String cursor, int limit) {
+        com.model.User client = currentUser();
+        PageCursor after = PageCursor.decode(cursor);
+        List<ProposalView> rows = after == null
+                ? jpaProposalRepository.findFirstPageByClientId(client.getId(), Limit.of(limit + 1))
+                : jpaProposalRepository.findPageByClientIdAfter(client.getId(), after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Function.identity(), this::cursorOf);
+    }
+    
+    private com.model.User currentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new NoSuchElementException("User not found"));
+    }
+    
+    private PageCursor cursorOf(ProposalView proposal) {
+        return new PageCursor(proposal.getSubmittedAt(), proposal.getId());
     }
     
     public ProposalDTO getProposalById(Long id) {
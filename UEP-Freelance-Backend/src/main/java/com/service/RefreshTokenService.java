@@ -0,0 +1,215 @@
+package com.service;
+
+import com.model.RefreshToken;
+import com.model.User;
+import com.repository.RefreshTokenRepository;
+import com.security.TokenRevocationList;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and rotates refresh tokens. Each refresh swaps the presented token for a new
+ * one in the same family; a token presented twice means it leaked, so the family is
+ * revoked and its access tokens are blocked through {@link TokenRevocationList}.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final long refreshTtlMillis;
+    private final long accessTtlMillis;
+    private final long syncSeconds;
+    private final SecureRandom random = new SecureRandom();
+
+    private ScheduledExecutorService syncer;
+    private volatile LocalDateTime syncedUpTo;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenRevocationList revocationList,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshTtlMillis,
+                               @Value("${jwt.expiration:900000}") long accessTtlMillis,
+                               @Value("${jwt.revocation.sync-seconds:30}") long syncSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationList = revocationList;
+        this.refreshTtlMillis = refreshTtlMillis;
+        this.accessTtlMillis = accessTtlMillis;
+        this.syncSeconds = syncSeconds;
+    }
+
+    /** A freshly issued raw token; the raw value is never stored. */
+    public static final class Issued {
+        private final String token;
+        private final String familyId;
+        private final User user;
+
+        Issued(String token, String familyId, User user) {
+            this.token = token;
+            this.familyId = familyId;
+            this.user = user;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getFamilyId() {
+            return familyId;
+        }
+
+        public User getUser() {
+            return user;
+        }
+    }
+
+    @Transactional
+    public Issued issue(User user) {
+        return create(user, UUID.randomUUID().toString(), LocalDateTime.now());
+    }
+
+    /**
+     * Exchange a refresh token for its successor.
+     *
+     * @throws BadCredentialsException if the token is unknown, expired, revoked or reused
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Issued rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findForRotation(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        if (current.getRotatedAt() != null) {
+            // Already exchanged once: either the client or an attacker holds a copy, end the session
+            revokeFamily(current.getFamilyId(), now);
+            logger.warn("Refresh token reuse detected for user {}, revoked session {}",
+                    current.getUser().getId(), current.getFamilyId());
+            throw new BadCredentialsException("Refresh token reuse detected");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+
+        User user = current.getUser();
+        if (!Boolean.TRUE.equals(user.getIsActive()) || tokenVersionOf(user) != current.getTokenVersion()) {
+            revokeFamily(current.getFamilyId(), now);
+            throw new BadCredentialsException("Refresh token is no longer valid");
+        }
+
+        current.setRotatedAt(now);
+        return create(user, current.getFamilyId(), now);
+    }
+
+    /** Logout: revoke the session the token belongs to. Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    private Issued create(User user, String familyId, LocalDateTime now) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = BASE64URL.encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(raw));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setTokenVersion(tokenVersionOf(user));
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusNanos(refreshTtlMillis * 1_000_000));
+        refreshTokenRepository.save(token);
+        return new Issued(raw, familyId, user);
+    }
+
+    private void revokeFamily(String familyId, LocalDateTime now) {
+        refreshTokenRepository.revokeFamily(familyId, now);
+        revocationList.revokeSession(familyId, toMillis(now));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sync();
+        if (syncSeconds > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "refresh-token-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            syncer.scheduleWithFixedDelay(this::sync, syncSeconds, syncSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+    }
+
+    // Pick up sessions revoked by other instances (or before a restart) and drop expired rows
+    private void sync() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime since = syncedUpTo != null
+                    ? syncedUpTo.minusSeconds(5)
+                    : now.minusNanos(accessTtlMillis * 1_000_000);
+            List<Object[]> rows = refreshTokenRepository.findFamiliesRevokedSince(since);
+            for (Object[] row : rows) {
+                revocationList.revokeSession((String) row[0], toMillis((LocalDateTime) row[1]));
+            }
+            syncedUpTo = now;
+
+            int deleted = refreshTokenRepository.deleteExpiredBefore(now);
+            if (deleted > 0) {
+                logger.debug("Deleted {} expired refresh tokens", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to sync refresh token revocations: {}", e.getMessage());
+        }
+    }
+
+    private static int tokenVersionOf(User user) {
+        return user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return BASE64URL.encodeToString(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
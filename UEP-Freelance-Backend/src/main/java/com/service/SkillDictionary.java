@@ -0,0 +1,87 @@
+package com.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns skill names to small int ids so skill sets can be compared as sorted int
+ * arrays instead of strings. "Web Development", "web-development" and "WEB_DEVELOPMENT"
+ * all map to the same id, which also lets job categories match student skills.
+ */
+@Component
+public class SkillDictionary {
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /** Id of a skill, assigning a new one the first time it is seen; -1 for blank input. */
+    public int intern(String skill) {
+        String key = normalize(skill);
+        if (key.isEmpty()) return -1;
+        return ids.computeIfAbsent(key, k -> nextId.getAndIncrement());
+    }
+
+    /** Id of a skill if it has been seen before, else -1. */
+    public int lookup(String skill) {
+        Integer id = ids.get(normalize(skill));
+        return id != null ? id : -1;
+    }
+
+    /** Sorted, distinct ids of a comma or semicolon separated skill list. */
+    public int[] internAll(String skills) {
+        return toIds(skills, true);
+    }
+
+    /** Like {@link #internAll} but unknown skills are dropped instead of interned. */
+    public int[] lookupAll(String skills) {
+        return toIds(skills, false);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private int[] toIds(String skills, boolean intern) {
+        if (skills == null || skills.isBlank()) return NONE;
+        String[] parts = skills.split("[,;]");
+        int[] result = new int[parts.length];
+        int n = 0;
+        for (String part : parts) {
+            int id = intern ? intern(part) : lookup(part);
+            if (id >= 0) result[n++] = id;
+        }
+        if (n == 0) return NONE;
+        Arrays.sort(result, 0, n);
+        int distinct = 1;
+        for (int i = 1; i < n; i++) {
+            if (result[i] != result[distinct - 1]) result[distinct++] = result[i];
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    // Lower-case, treat '_' and '-' as spaces and collapse runs of whitespace
+    static String normalize(String skill) {
+        if (skill == null) return "";
+        StringBuilder sb = new StringBuilder(skill.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < skill.length(); i++) {
+            char c = skill.charAt(i);
+            if (Character.isWhitespace(c) || c == '_' || c == '-') {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
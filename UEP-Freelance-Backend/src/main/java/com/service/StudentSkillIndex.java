@@ -0,0 +1,129 @@
+package com.service;
+
+import com.model.User;
+import com.model.UserRole;
+import com.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skill id -> active students who list that skill. Built once at startup and kept
+ * current from {@link UserChangedEvent}s, so finding the students interested in a
+ * job costs one lookup per job skill rather than a scan of every student.
+ */
+@Component
+public class StudentSkillIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSkillIndex.class);
+
+    private final Map<Integer, Set<Long>> studentsBySkill = new ConcurrentHashMap<>();
+    private final Map<Long, Student> students = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<User> active = userRepository.findByRoleAndIsActiveTrue(UserRole.STUDENT);
+        synchronized (this) {
+            studentsBySkill.clear();
+            students.clear();
+            idsByEmail.clear();
+            for (User user : active) {
+                add(user);
+            }
+        }
+        logger.info("Indexed skills of {} students in {} ms", active.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        update(event.getUser());
+    }
+
+    // Add, replace or drop a user depending on whether they are an active student
+    public synchronized void update(User user) {
+        if (user == null || user.getId() == null) return;
+        remove(user.getId());
+        if (user.getRole() == UserRole.STUDENT && Boolean.TRUE.equals(user.getIsActive())) {
+            add(user);
+        }
+    }
+
+    /** Emails of active students having at least one of the given skills. */
+    public List<String> emailsMatching(int[] skillIds) {
+        if (skillIds.length == 0) return Collections.emptyList();
+        Set<Long> ids = new HashSet<>();
+        for (int skillId : skillIds) {
+            Set<Long> holders = studentsBySkill.get(skillId);
+            if (holders != null) ids.addAll(holders);
+        }
+        List<String> emails = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Student student = students.get(id);
+            if (student != null) emails.add(student.email);
+        }
+        return emails;
+    }
+
+    /** Sorted skill ids of an active student, or an empty array for anyone else. */
+    public int[] skillsOf(String email) {
+        Long id = email != null ? idsByEmail.get(email) : null;
+        Student student = id != null ? students.get(id) : null;
+        return student != null ? student.skills : new int[0];
+    }
+
+    public int size() {
+        return students.size();
+    }
+
+    private void add(User user) {
+        Student student = new Student(user.getEmail(), skillDictionary.internAll(user.getSkills()));
+        students.put(user.getId(), student);
+        idsByEmail.put(user.getEmail(), user.getId());
+        for (int skillId : student.skills) {
+            studentsBySkill.computeIfAbsent(skillId, k -> ConcurrentHashMap.newKeySet()).add(user.getId());
+        }
+    }
+
+    private void remove(Long userId) {
+        Student previous = students.remove(userId);
+        if (previous == null) return;
+        idsByEmail.remove(previous.email, userId);
+        for (int skillId : previous.skills) {
+            Set<Long> holders = studentsBySkill.get(skillId);
+            if (holders != null) {
+                holders.remove(userId);
+                if (holders.isEmpty()) studentsBySkill.remove(skillId);
+            }
+        }
+    }
+
+    private static final class Student {
+        final String email;
+        final int[] skills;
+
+        Student(String email, int[] skills) {
+            this.email = email;
+            this.skills = skills;
+        }
+    }
+}
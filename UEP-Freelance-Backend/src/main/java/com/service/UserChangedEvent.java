@@ -0,0 +1,20 @@
+package com.service;
+
+import com.model.User;
+
+/**
+ * Published when a user is registered or their profile, role or active flag changes,
+ * so in-memory views of users can be kept up to date.
+ */
+public class UserChangedEvent {
+
+    private final User user;
+
+    public UserChangedEvent(User user) {
+        this.user = user;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
@@ -1,13 +1,38 @@
 package com.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.service.CandidateRankingService;
+import com.service.JobChangedEvent;
+import com.service.JobRecommendationService;
+import com.service.JobSearchIndex;
 import com.service.JobService;
+import com.service.NdjsonExporter;
+import com.service.StudentSkillIndex;
+import com.dto.BulkCreateResult;
+import com.dto.CandidateDTO;
+import com.dto.CursorPage;
 import com.dto.JobDTO;
+import com.dto.JobSummary;
+import com.dto.PageCursor;
+import com.dto.VersionStamp;
 import com.model.JobStatus;
 import com.model.Job;
 import com.repository.JobRepository;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +41,31 @@ public class JobServiceImpl implements JobService {
     @Autowired
     private JobRepository jobRepository;
     
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+    
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+    
+    @Autowired
+    private JobRecommendationService jobRecommendationService;
+    
+    @Autowired
+    private StudentSkillIndex studentSkillIndex;
+    
+    @Autowired
+    private CandidateRankingService candidateRankingService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Flush and clear the persistence context every this many rows; matches hibernate.jdbc.batch_size
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
     // You'll need to convert Job to JobDTO and vice versa
     // Here's a helper method (you'll need to implement the full conversion)
     private JobDTO convertToDTO(Job job) {
@@ -48,9 +98,43 @@ public class JobServiceImpl implements JobService {
         Job job = convertToEntity(jobDTO);
         job.setStatus(JobStatus.OPEN); // Default status
         Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.created(savedJob));
         return convertToDTO(savedJob);
     }
     
+    @Override
+    @Transactional
+    public BulkCreateResult createJobs(List<JobDTO> jobDTOs) {
+        if (jobDTOs == null || jobDTOs.isEmpty()) {
+            throw new IllegalArgumentException("At least one job must be provided");
+        }
+        if (jobDTOs.size() > BulkCreateResult.MAX_ITEMS) {
+            throw new IllegalArgumentException("At most " + BulkCreateResult.MAX_ITEMS + " jobs can be imported at once");
+        }
+        
+        List<Job> saved = new ArrayList<>(jobDTOs.size());
+        for (int i = 0; i < jobDTOs.size(); i++) {
+            Job job = convertToEntity(jobDTOs.get(i));
+            job.setStatus(JobStatus.OPEN);
+            entityManager.persist(job);
+            saved.add(job);
+            // Send the pending inserts as one batch and drop them from the context so it stays small
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        List<Long> ids = new ArrayList<>(saved.size());
+        for (Job job : saved) {
+            eventPublisher.publishEvent(JobChangedEvent.imported(job));
+            ids.add(job.getId());
+        }
+        return new BulkCreateResult(ids.size(), ids);
+    }
+    
     @Override
     public List<JobDTO> getAllJobs() {
         List<Job> jobs = jobRepository.findAll();
@@ -67,6 +151,39 @@ public class JobServiceImpl implements JobService {
                    .collect(Collectors.toList());
     }
     
+    @Override
+    public CursorPage<JobDTO> getJobsPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Job> rows = after == null
+                ? jobRepository.findFirstPage(Limit.of(limit + 1))
+                : jobRepository.findPageAfter(after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, this::convertToDTO, this::cursorOf);
+    }
+    
+    @Override
+    public CursorPage<JobDTO> getOpenJobsPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Job> rows = after == null
+                ? jobRepository.findFirstPageByStatus(JobStatus.OPEN, Limit.of(limit + 1))
+                : jobRepository.findPageByStatusAfter(JobStatus.OPEN, after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, this::convertToDTO, this::cursorOf);
+    }
+    
+    @Override
+    public VersionStamp getJobVersion(Long id) {
+        return jobRepository.findVersionStampById(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportJobs(OutputStream out) throws IOException {
+        return ndjsonExporter.write(jobRepository.streamAll(), this::convertToDTO, out);
+    }
+    
+    private PageCursor cursorOf(Job job) {
+        return new PageCursor(job.getCreatedAt(), job.getId());
+    }
+    
     @Override
     public JobDTO getJobById(Long id) {
         Job job = jobRepository.findById(id)
@@ -85,16 +202,9 @@ public class JobServiceImpl implements JobService {
     
     @Override
     public List<JobDTO> searchJobs(String keyword, String category) {
-        if (keyword != null && category != null) {
-            List<Job> jobs = jobRepository.findByTitleContainingAndCategory(keyword, category);
-            return jobs.stream()
-                       .map(this::convertToDTO)
-                       .collect(Collectors.toList());
-        } else if (keyword != null) {
-            List<Job> jobs = jobRepository.findByTitleContaining(keyword);
-            return jobs.stream()
-                       .map(this::convertToDTO)
-                       .collect(Collectors.toList());
+        if (keyword != null && !keyword.isBlank()) {
+            // Keyword matching is answered by the in-memory index; only the hits are loaded
+            return findAllInOrder(jobSearchIndex.search(keyword, category));
         } else if (category != null) {
             List<Job> jobs = jobRepository.findByCategory(category);
             return jobs.stream()
@@ -105,12 +215,81 @@ public class JobServiceImpl implements JobService {
         }
     }
     
+    @Override
+    public List<JobDTO> rankedSearch(String query, String category, BigDecimal budgetMin, BigDecimal budgetMax, int limit) {
+        validateRankedSearch(query, budgetMin, budgetMax);
+        return findAllInOrder(jobSearchIndex.rankedSearch(query, category, budgetMin, budgetMax, limit));
+    }
+    
+    @Override
+    public List<JobSummary> getJobSummaries() {
+        return jobRepository.findAllSummaries();
+    }
+    
+    @Override
+    public CursorPage<JobSummary> getJobSummariesPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<JobSummary> rows = after == null
+                ? jobRepository.findFirstSummaryPage(Limit.of(limit + 1))
+                : jobRepository.findSummaryPageAfter(after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Function.identity(), s -> new PageCursor(s.getCreatedAt(), s.getId()));
+    }
+    
+    @Override
+    public CursorPage<JobSummary> getOpenJobSummariesPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<JobSummary> rows = after == null
+                ? jobRepository.findFirstSummaryPageByStatus(JobStatus.OPEN, Limit.of(limit + 1))
+                : jobRepository.findSummaryPageByStatusAfter(JobStatus.OPEN, after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Function.identity(), s -> new PageCursor(s.getCreatedAt(), s.getId()));
+    }
+    
+    @Override
+    public List<JobSummary> searchJobSummaries(String keyword, String category) {
+        if (keyword != null && !keyword.isBlank()) {
+            return findSummariesInOrder(jobSearchIndex.search(keyword, category));
+        } else if (category != null) {
+            return jobRepository.findSummariesByCategory(category);
+        } else {
+            return getJobSummaries();
+        }
+    }
+    
+    @Override
+    public List<JobSummary> rankedSearchSummaries(String query, String category, BigDecimal budgetMin, BigDecimal budgetMax, int limit) {
+        validateRankedSearch(query, budgetMin, budgetMax);
+        return findSummariesInOrder(jobSearchIndex.rankedSearch(query, category, budgetMin, budgetMax, limit));
+    }
+    
+    private static void validateRankedSearch(String query, BigDecimal budgetMin, BigDecimal budgetMax) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must be provided for ranked search");
+        }
+        if (budgetMin != null && budgetMax != null && budgetMin.compareTo(budgetMax) > 0) {
+            throw new IllegalArgumentException("budgetMin must be less than or equal to budgetMax");
+        }
+    }
+    
+    @Override
+    public List<JobDTO> getRecommendedJobs(int limit) {
+        // Both the student's skills and the open-job index are in memory; only the hits are loaded
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return findAllInOrder(jobRecommendationService.recommend(studentSkillIndex.skillsOf(email), limit));
+    }
+    
+    @Override
+    public List<CandidateDTO> getCandidates(Long jobId, int limit) {
+        Job job = jobRepository.findById(jobId).orElseThrow();
+        return candidateRankingService.rank(JobRecommendationService.skillsOf(job), limit);
+    }
+    
     @Override
     public JobDTO updateJobStatus(Long id, JobStatus status) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job not found with id: " + id));
         job.setStatus(status);
         Job updatedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(JobChangedEvent.statusChanged(updatedJob));
         return convertToDTO(updatedJob);
     }
     
@@ -127,6 +306,7 @@ public class JobServiceImpl implements JobService {
         existingJob.setCategory(jobDTO.getCategory());
         
         Job updatedJob = jobRepository.save(existingJob);
+        eventPublisher.publishEvent(JobChangedEvent.updated(updatedJob));
         return convertToDTO(updatedJob);
     }
     
@@ -136,5 +316,40 @@ public class JobServiceImpl implements JobService {
             throw new RuntimeException("Job not found with id: " + id);
         }
         jobRepository.deleteById(id);
+        eventPublisher.publishEvent(JobChangedEvent.deleted(id));
+    }
+    
+    // Load job summaries by id, keeping the order of the given ids
+    private List<JobSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, JobSummary> byId = jobRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(JobSummary::getId, Function.identity()));
+        List<JobSummary> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            JobSummary summary = byId.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+    
+    // Load jobs by id, keeping the order of the given ids
+    private List<JobDTO> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Job> byId = jobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        List<JobDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Job job = byId.get(id);
+            if (job != null) {
+                result.add(convertToDTO(job));
+            }
+        }
+        return result;
     }
 }
\ No newline at end of file
@@ -1,10 +1,19 @@
 package com.uep.freelance.controller;
 
+import com.dto.CursorPage;
 import com.dto.UserDTO;
+import com.dto.VersionStamp;
+import com.security.AuthBusyException;
+import com.service.CollectionVersions;
 import com.uep.freelance.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -15,9 +24,16 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser() {
+    public ResponseEntity<?> getCurrentUser(WebRequest request) {
         try {
+            VersionStamp version = userService.getCurrentUserVersion();
+            if (!version.isEmpty() && request.checkNotModified(version.etag("me|" + request.getRemoteUser()), version.lastModifiedMillis())) {
+                return null;
+            }
             UserDTO user = userService.getCurrentUser();
             return ResponseEntity.ok(user);
         } catch (Exception e) {
@@ -41,14 +57,26 @@ public class UserController {
         try {
             userService.changePassword(currentPassword, newPassword);
             return ResponseEntity.ok("Password changed successfully");
+        } catch (AuthBusyException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         WebRequest request) {
         try {
+            if (request.checkNotModified(collectionVersions.usersEtag("users|" + cursor + "|" + limit))) {
+                return null;
+            }
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(userService.getUsersPage(cursor, CursorPage.resolveLimit(limit)));
+            }
             List<UserDTO> users = userService.getAllUsers();
             return ResponseEntity.ok(users);
         } catch (Exception e) {
@@ -56,9 +84,18 @@ public class UserController {
         }
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> userService.exportUsers(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/role/{role}")
-    public ResponseEntity<?> getUsersByRole(@PathVariable String role) {
+    public ResponseEntity<?> getUsersByRole(@PathVariable String role, WebRequest request) {
         try {
+            if (request.checkNotModified(collectionVersions.usersEtag("role|" + role))) {
+                return null;
+            }
             List<UserDTO> users = userService.getUsersByRole(role);
             return ResponseEntity.ok(users);
         } catch (Exception e) {
@@ -67,8 +104,12 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, WebRequest request) {
         try {
+            VersionStamp version = userService.getUserVersion(id);
+            if (!version.isEmpty() && request.checkNotModified(version.etag("user|" + id), version.lastModifiedMillis())) {
+                return null;
+            }
             UserDTO user = userService.getUserById(id);
             return ResponseEntity.ok(user);
         } catch (Exception e) {
@@ -0,0 +1,61 @@
+package com.uep.freelance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of {@link UserDetails} keyed by email, so authenticated
+ * requests don't need a database round trip each. Entries must be evicted whenever
+ * the user's password, role or active flag changes.
+ */
+@Component
+public class UserDetailsCache {
+
+    // Caffeine evicts by size and age in amortized O(1), off the authentication path
+    private final Cache<String, UserDetails> entries;
+
+    public UserDetailsCache(@Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${security.user-cache.max-entries:10000}") int maxEntries) {
+        this.entries = ttlSeconds > 0 && maxEntries > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxEntries)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .build()
+                : null;
+    }
+
+    /** Returns a copy of the cached details, or null when absent or expired. */
+    public UserDetails get(String email) {
+        if (entries == null) return null;
+        UserDetails details = entries.getIfPresent(email);
+        // Hand out a copy: authentication erases credentials on the principal it is given
+        return details != null ? User.withUserDetails(details).build() : null;
+    }
+
+    public void put(String email, UserDetails details) {
+        if (entries == null) return;
+        entries.put(email, User.withUserDetails(details).build());
+    }
+
+    public void evict(String email) {
+        if (entries != null && email != null) {
+            entries.invalidate(email);
+        }
+    }
+
+    public void clear() {
+        if (entries != null) {
+            entries.invalidateAll();
+        }
+    }
+
+    public int size() {
+        return entries != null ? (int) entries.estimatedSize() : 0;
+    }
+}
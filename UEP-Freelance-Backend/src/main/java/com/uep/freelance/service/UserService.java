@@ -1,12 +1,24 @@
 package com.uep.freelance.service;
 
+import com.dto.CursorPage;
+import com.dto.PageCursor;
 import com.dto.UserDTO;
+import com.dto.VersionStamp;
 import com.model.User;
 import com.repository.UserRepository;
+import com.security.TokenVersionRegistry;
+import com.service.NdjsonExporter;
+import com.service.UserChangedEvent;
+import com.uep.freelance.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +31,18 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public UserDTO getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
@@ -26,6 +50,16 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    // Fingerprints of one user for conditional GETs; cheaper than loading the user
+    public VersionStamp getCurrentUserVersion() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findVersionStampByEmail(email);
+    }
+
+    public VersionStamp getUserVersion(Long id) {
+        return userRepository.findVersionStampById(id);
+    }
+
     public UserDTO updateProfile(UserDTO userDTO) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
@@ -39,6 +73,7 @@ public class UserService {
         user.setCompany(userDTO.getCompany());
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser));
         return convertToDTO(updatedUser);
     }
 
@@ -52,7 +87,10 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+        tokenVersionRegistry.update(user.getEmail(), user.getTokenVersion());
     }
 
     public List<UserDTO> getAllUsers() {
@@ -61,6 +99,20 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<UserDTO> getUsersPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<User> rows = after == null
+                ? userRepository.findFirstPage(Limit.of(limit + 1))
+                : userRepository.findPageAfter(after.getCreatedAt(), after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, this::convertToDTO, u -> new PageCursor(u.getCreatedAt(), u.getId()));
+    }
+
+    // Write every user to `out` as newline-delimited JSON
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        return ndjsonExporter.write(userRepository.streamAll(), this::convertToDTO, out);
+    }
+
     public List<UserDTO> getUsersByRole(String role) {
         return userRepository.findByRoleAndIsActiveTrue(com.model.UserRole.valueOf(role))
                 .stream()
@@ -78,13 +130,22 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        com.model.UserRole newRole = com.model.UserRole.valueOf(userDTO.getRole());
+        boolean accessChanged = newRole != user.getRole() || !java.util.Objects.equals(userDTO.getIsActive(), user.getIsActive());
+
         user.setFirstName(userDTO.getFirstName());
         user.setLastName(userDTO.getLastName());
         user.setPhone(userDTO.getPhone());
-        user.setRole(com.model.UserRole.valueOf(userDTO.getRole()));
+        user.setRole(newRole);
         user.setIsActive(userDTO.getIsActive());
+        if (accessChanged) {
+            revokeTokens(user);
+        }
 
         User updatedUser = userRepository.save(user);
+        userDetailsCache.evict(updatedUser.getEmail());
+        tokenVersionRegistry.update(updatedUser.getEmail(), updatedUser.getTokenVersion());
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser));
         return convertToDTO(updatedUser);
     }
 
@@ -92,7 +153,17 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setIsActive(false);
+        revokeTokens(user);
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+        tokenVersionRegistry.update(user.getEmail(), user.getTokenVersion());
+        eventPublisher.publishEvent(new UserChangedEvent(user));
+    }
+
+    // Invalidate every token issued so far; stateless tokens carry the old version
+    private void revokeTokens(User user) {
+        int current = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+        user.setTokenVersion(current + 1);
     }
 
     public UserDTO convertToDTO(User user) {
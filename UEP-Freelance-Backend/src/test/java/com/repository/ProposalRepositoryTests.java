@@ -0,0 +1,141 @@
+package com.repository;
+
+import com.dto.ProposalView;
+import com.model.Job;
+import com.model.JobStatus;
+import com.model.Proposal;
+import com.model.ProposalStatus;
+import com.model.User;
+import com.model.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The proposal listings must cost one SQL statement however many proposals they return.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProposalRepositoryTests {
+
+	// The application class lives outside com.*, so point the slice at the entities and repositories
+	@SpringBootConfiguration
+	@EntityScan(basePackageClasses = Proposal.class)
+	@EnableJpaRepositories(basePackageClasses = ProposalRepository.class)
+	static class Config {
+	}
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ProposalRepository proposalRepository;
+
+	private Statistics statistics;
+
+	private User client;
+
+	private Job job;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		client = entityManager.persist(user("client@uep.edu.ph", UserRole.CLIENT));
+		job = new Job();
+		job.setTitle("Landing page");
+		job.setDescription("Build a landing page");
+		job.setBudget(new BigDecimal("5000.00"));
+		job.setDeadline(LocalDateTime.now().plusDays(14));
+		job.setStatus(JobStatus.OPEN);
+		job.setCategory("WEB_DEVELOPMENT");
+		job.setClient(client);
+		entityManager.persist(job);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 10, 50})
+	void jobListingIsOneStatement(int proposals) {
+		persistProposals(proposals);
+
+		List<ProposalView> views = countingStatements(() -> proposalRepository.findFirstPageByJobId(job.getId(), Limit.of(100)));
+
+		assertThat(views).hasSize(proposals);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 10, 50})
+	void receivedListingIsOneStatement(int proposals) {
+		persistProposals(proposals);
+
+		List<ProposalView> views = countingStatements(() -> proposalRepository.findFirstPageByClientId(client.getId(), Limit.of(100)));
+
+		assertThat(views).hasSize(proposals);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void viewCarriesJobAndFreelancerFields() {
+		persistProposals(1);
+
+		ProposalView view = countingStatements(() -> proposalRepository.findViewsByJobId(job.getId())).get(0);
+
+		assertThat(view.getJobTitle()).isEqualTo("Landing page");
+		assertThat(view.getClientId()).isEqualTo(client.getId());
+		assertThat(view.getFreelancerEmail()).isEqualTo("student0@uep.edu.ph");
+		assertThat(view.getStatus()).isEqualTo(ProposalStatus.PENDING);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private void persistProposals(int count) {
+		for (int i = 0; i < count; i++) {
+			User student = entityManager.persist(user("student" + i + "@uep.edu.ph", UserRole.STUDENT));
+			Proposal proposal = new Proposal();
+			proposal.setCoverLetter("Cover letter " + i);
+			proposal.setProposedAmount(new BigDecimal("4500.00"));
+			proposal.setEstimatedDays(7);
+			proposal.setStatus(ProposalStatus.PENDING);
+			proposal.setJob(job);
+			proposal.setFreelancer(student);
+			entityManager.persist(proposal);
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	// Run the query with fresh statistics, then read every field as a serializer would
+	private <T> T countingStatements(Supplier<T> query) {
+		statistics.clear();
+		T result = query.get();
+		assertThat(result.toString()).isNotEmpty();
+		return result;
+	}
+
+	private static User user(String email, UserRole role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword("secret");
+		user.setFirstName("First");
+		user.setLastName("Last");
+		user.setRole(role);
+		user.setSkills("Web Development");
+		return user;
+	}
+}
@@ -0,0 +1,111 @@
+package com.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bucket arithmetic, driven with explicit timestamps so no test sleeps.
+ */
+class TokenBucketLimiterTests {
+
+	// Timestamps are relative to the limiter's origin, so t0 is read after it is built
+	private long t0;
+
+	@Test
+	void burstIsCapacityThenDenied() {
+		TokenBucketLimiter limiter = limiter(5, 60, 100);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("ip", t0)).isZero();
+		}
+		assertThat(limiter.tryAcquire("ip", t0)).isPositive();
+	}
+
+	@Test
+	void retryAfterIsTimeUntilNextToken() {
+		TokenBucketLimiter limiter = limiter(1, 60, 100);
+		assertThat(limiter.tryAcquire("ip", t0)).isZero();
+
+		// One token per second: a full second to go, then half of one
+		assertThat(limiter.tryAcquire("ip", t0)).isEqualTo(1001);
+		assertThat(limiter.tryAcquire("ip", t0 + 500)).isEqualTo(501);
+		assertThat(limiter.tryAcquire("ip", t0 + 1000)).isZero();
+		assertThat(limiter.tryAcquire("ip", t0 + 1000)).isEqualTo(1001);
+	}
+
+	@Test
+	void slowRefillKeepsTimestampWhenNothingAccrued() {
+		// One token a minute is one milli-token every 60 ms
+		TokenBucketLimiter limiter = limiter(3, 1, 100);
+		assertThat(limiter.tryAcquire("ip", t0)).isZero();
+		// 30 ms adds nothing; restarting the clock here would lose those 30 ms for good
+		assertThat(limiter.tryAcquire("ip", t0 + 30)).isZero();
+
+		// A minute after the first request exactly one whole token has come back
+		assertThat(limiter.tryAcquire("ip", t0 + 60_000)).isZero();
+		assertThat(limiter.tryAcquire("ip", t0 + 60_000)).isZero();
+		assertThat(limiter.tryAcquire("ip", t0 + 60_000)).isPositive();
+	}
+
+	@Test
+	void keysBeyondMaxShareOverflowBucket() {
+		TokenBucketLimiter limiter = limiter(1, 1, 2);
+		assertThat(limiter.tryAcquire("a", t0)).isZero();
+		assertThat(limiter.tryAcquire("b", t0)).isZero();
+
+		assertThat(limiter.tryAcquire("c", t0)).isZero();
+		assertThat(limiter.tryAcquire("d", t0)).isPositive();
+		assertThat(limiter.size()).isEqualTo(2);
+		// Tracked keys keep their own buckets
+		assertThat(limiter.tryAcquire("a", t0)).isPositive();
+	}
+
+	@Test
+	void evictIdleDropsOnlyFullBuckets() {
+		TokenBucketLimiter limiter = limiter(2, 60, 100);
+		limiter.tryAcquire("refilled", t0);
+		limiter.tryAcquire("drained", t0);
+		limiter.tryAcquire("drained", t0);
+
+		assertThat(limiter.evictIdle(t0 + 1000)).isEqualTo(1);
+
+		assertThat(limiter.size()).isEqualTo(1);
+		// The surviving bucket still remembers it is one token short
+		assertThat(limiter.tryAcquire("drained", t0 + 1000)).isZero();
+		assertThat(limiter.tryAcquire("drained", t0 + 1000)).isPositive();
+	}
+
+	@Test
+	void evictionMakesRoomForNewKeys() {
+		TokenBucketLimiter limiter = limiter(1, 60, 1);
+		limiter.tryAcquire("a", t0);
+		assertThat(limiter.tryAcquire("b", t0)).isZero();
+		assertThat(limiter.tryAcquire("c", t0)).isPositive();
+
+		limiter.evictIdle(t0 + 1000);
+
+		assertThat(limiter.size()).isZero();
+		assertThat(limiter.tryAcquire("c", t0 + 1000)).isZero();
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+
+	@Test
+	void parsesSpec() {
+		TokenBucketLimiter limiter = TokenBucketLimiter.of("2 / 10", 100);
+		t0 = System.currentTimeMillis();
+
+		assertThat(limiter.tryAcquire("ip", t0)).isZero();
+		assertThat(limiter.tryAcquire("ip", t0)).isZero();
+		assertThat(limiter.tryAcquire("ip", t0)).isEqualTo(6001);
+		assertThatThrownBy(() -> TokenBucketLimiter.of("20", 100)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TokenBucketLimiter(0, 10, 100)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private TokenBucketLimiter limiter(long capacity, long refillPerMinute, int maxKeys) {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(capacity, refillPerMinute, maxKeys);
+		t0 = System.currentTimeMillis();
+		return limiter;
+	}
+}
@@ -0,0 +1,84 @@
+package com.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generation window math: entries live until the end of their expiry window, and a
+ * ring slot is only replaced by the generation three windows later.
+ */
+class TokenRevocationListTests {
+
+	private static final long WINDOW = 1000;
+
+	private final TokenRevocationList list = new TokenRevocationList(WINDOW, 1000);
+
+	@Test
+	void entryLivesUntilItsWindowEnds() {
+		list.revoke("jti-a", 2500, 1000);
+
+		assertThat(list.isRevoked("jti-a", null, 1000)).isTrue();
+		assertThat(list.isRevoked("jti-a", null, 2999)).isTrue();
+		assertThat(list.isRevoked("jti-a", null, 3000)).isFalse();
+	}
+
+	@Test
+	void alreadyExpiredEntryIsIgnored() {
+		list.revoke("jti-a", 900, 1000);
+
+		assertThat(list.isRevoked("jti-a", null, 0)).isFalse();
+	}
+
+	@Test
+	void matchesOnJtiOrSessionId() {
+		list.revoke("sid-a", 2500, 1000);
+
+		assertThat(list.isRevoked("some-jti", "sid-a", 1000)).isTrue();
+		assertThat(list.isRevoked("sid-a", null, 1000)).isTrue();
+		assertThat(list.isRevoked("some-jti", "sid-b", 1000)).isFalse();
+		assertThat(list.isRevoked(null, null, 1000)).isFalse();
+	}
+
+	@Test
+	void newGenerationReplacesOnlyItsOwnSlot() {
+		list.revoke("gen2", 2500, 1000); // window 2, slot 2
+		list.revoke("gen3", 3500, 1000); // window 3, slot 0
+		list.revoke("gen4", 4500, 1000); // window 4, slot 1
+
+		list.revoke("gen5", 5500, 4000); // window 5 takes slot 2 from window 2
+
+		assertThat(list.isRevoked("gen2", null, 2000)).isFalse();
+		assertThat(list.isRevoked("gen3", null, 3000)).isTrue();
+		assertThat(list.isRevoked("gen4", null, 4000)).isTrue();
+		assertThat(list.isRevoked("gen5", null, 4000)).isTrue();
+	}
+
+	@Test
+	void sameWindowSharesOneGeneration() {
+		list.revoke("first", 2100, 1000);
+		list.revoke("second", 2900, 1000);
+
+		assertThat(list.isRevoked("first", null, 2500)).isTrue();
+		assertThat(list.isRevoked("second", null, 2500)).isTrue();
+	}
+
+	@Test
+	void sessionIsBlockedForOneAccessTtl() {
+		long now = System.currentTimeMillis();
+		list.revokeSession("sid-a", now);
+
+		assertThat(list.isRevoked(null, "sid-a", now + WINDOW - 1)).isTrue();
+		assertThat(list.isRevoked(null, "sid-a", (now / WINDOW + 2) * WINDOW)).isFalse();
+	}
+
+	@Test
+	void bloomFilterNeverHidesARevokedId() {
+		IntStream.range(0, 5000).forEach(i -> list.revoke("revoked-" + i, 2500, 1000));
+
+		assertThat(IntStream.range(0, 5000)).allMatch(i -> list.isRevoked("revoked-" + i, null, 1000));
+		assertThat(IntStream.range(0, 5000)).noneMatch(i -> list.isRevoked("live-" + i, null, 1000));
+	}
+}
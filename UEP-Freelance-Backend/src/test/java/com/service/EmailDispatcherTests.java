@@ -0,0 +1,85 @@
+package com.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.model.EmailOutbox;
+import com.model.EmailStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch delivery and retry bookkeeping against a local GreenMail SMTP stub.
+ */
+class EmailDispatcherTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	@Test
+	void sendsWholeBatchAndMarksRowsSent() {
+		EmailDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort(), 5);
+		List<EmailOutbox> rows = List.of(row(1L, "a@uep.edu.ph"), row(2L, "b@uep.edu.ph"), row(3L, "c@uep.edu.ph"));
+
+		dispatcher.sendBatch(rows);
+
+		assertThat(greenMail.getReceivedMessages()).hasSize(3);
+		assertThat(rows).allSatisfy(r -> {
+			assertThat(r.getStatus()).isEqualTo(EmailStatus.SENT);
+			assertThat(r.getSentAt()).isNotNull();
+			assertThat(r.getClaimToken()).isNull();
+		});
+	}
+
+	@Test
+	void schedulesRetryWithBackoffWhenServerUnreachable() {
+		// Nothing listens on this port
+		EmailDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort() + 17, 5);
+		EmailOutbox row = row(1L, "a@uep.edu.ph");
+		LocalDateTime before = LocalDateTime.now();
+
+		dispatcher.sendBatch(List.of(row));
+
+		assertThat(row.getStatus()).isEqualTo(EmailStatus.PENDING);
+		assertThat(row.getAttempts()).isEqualTo(1);
+		assertThat(row.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+		assertThat(row.getLastError()).isNotBlank();
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		EmailDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort() + 17, 2);
+		EmailOutbox row = row(1L, "a@uep.edu.ph");
+		row.setAttempts(1);
+
+		dispatcher.sendBatch(List.of(row));
+
+		assertThat(row.getStatus()).isEqualTo(EmailStatus.FAILED);
+		assertThat(row.getAttempts()).isEqualTo(2);
+	}
+
+	private static EmailDispatcher dispatcher(int port, int maxAttempts) {
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost("localhost");
+		sender.setPort(port);
+		sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+		// The repository is only used by the worker loop, not by sendBatch
+		return new EmailDispatcher(sender, null, 10, 1, 10, maxAttempts, 30, 30, 10, 168, false);
+	}
+
+	private static EmailOutbox row(Long id, String to) {
+		EmailOutbox row = new EmailOutbox();
+		row.setId(id);
+		row.setRecipient(to);
+		row.setSubject("Subject " + id);
+		row.setBody("Body " + id);
+		row.setStatus(EmailStatus.SENDING);
+		row.setClaimToken("token");
+		return row;
+	}
+}
@@ -0,0 +1,292 @@
+package com.service;
+
+import com.model.Job;
+import com.model.JobStatus;
+import com.model.Proposal;
+import com.model.ProposalStatus;
+import com.model.User;
+import com.model.UserRole;
+import com.repository.JobRepository;
+import com.repository.ProposalRepository;
+import com.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Accepting a proposal against real commits: the version checks only bite between
+ * separate transactions, so the test-managed transaction is switched off.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProposalAcceptTests {
+
+	// The application class lives outside com.*, so point the slice at the entities and repositories
+	@SpringBootConfiguration
+	@EntityScan(basePackageClasses = Proposal.class)
+	@EnableJpaRepositories(basePackageClasses = ProposalRepository.class)
+	static class Config {
+	}
+
+	@Autowired
+	private ProposalRepository proposalRepository;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+
+	private User client;
+
+	private Job job;
+
+	private List<Proposal> proposals;
+
+	@BeforeEach
+	void setUp() {
+		client = userRepository.save(user("client@uep.edu.ph", UserRole.CLIENT));
+		job = new Job();
+		job.setTitle("Landing page");
+		job.setDescription("Build a landing page");
+		job.setBudget(new BigDecimal("5000.00"));
+		job.setDeadline(LocalDateTime.now().plusDays(14));
+		job.setStatus(JobStatus.OPEN);
+		job.setCategory("WEB_DEVELOPMENT");
+		job.setClient(client);
+		job = jobRepository.save(job);
+
+		proposals = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			User student = userRepository.save(user("student" + i + "@uep.edu.ph", UserRole.STUDENT));
+			Proposal proposal = new Proposal();
+			proposal.setCoverLetter("Cover letter " + i);
+			proposal.setProposedAmount(new BigDecimal("4500.00"));
+			proposal.setEstimatedDays(7);
+			proposal.setStatus(ProposalStatus.PENDING);
+			proposal.setJob(job);
+			proposal.setFreelancer(student);
+			proposals.add(proposalRepository.save(proposal));
+		}
+		signInAs(client);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		proposalRepository.deleteAll();
+		jobRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void acceptRejectsOtherPendingProposalsAndBumpsVersions() {
+		service(proposalRepository).acceptProposal(proposals.get(0).getId());
+
+		assertThat(reload(proposals.get(0)).getStatus()).isEqualTo(ProposalStatus.ACCEPTED);
+		for (Proposal other : proposals.subList(1, 3)) {
+			Proposal rejected = reload(other);
+			assertThat(rejected.getStatus()).isEqualTo(ProposalStatus.REJECTED);
+			assertThat(rejected.getVersion()).isGreaterThan(other.getVersion());
+		}
+		assertThat(jobRepository.findById(job.getId()).orElseThrow().getStatus()).isEqualTo(JobStatus.IN_PROGRESS);
+		assertThat(events).hasAtLeastOneElementOfType(JobChangedEvent.class);
+	}
+
+	@Test
+	void concurrentAcceptsForOneJobLetExactlyOneWin() throws Exception {
+		ProposalService service = service(proposalRepository);
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (Proposal proposal : proposals.subList(0, 2)) {
+				results.add(pool.submit(() -> {
+					signInAs(client);
+					start.await();
+					return service.acceptProposal(proposal.getId());
+				}));
+			}
+			start.countDown();
+
+			int won = 0;
+			for (Future<?> result : results) {
+				try {
+					result.get();
+					won++;
+				} catch (ExecutionException e) {
+					// The loser finds the job taken on its retry, or ran out of attempts
+					assertThat(e.getCause()).isInstanceOfAny(IllegalStateException.class, ConcurrencyFailureException.class);
+				}
+			}
+			assertThat(won).isEqualTo(1);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		List<ProposalStatus> statuses = proposals.stream().map(p -> reload(p).getStatus()).toList();
+		assertThat(statuses).containsOnlyOnce(ProposalStatus.ACCEPTED);
+		assertThat(statuses).filteredOn(s -> s != ProposalStatus.ACCEPTED).containsOnly(ProposalStatus.REJECTED);
+		assertThat(proposals).allSatisfy(p -> assertThat(reload(p).getVersion()).isGreaterThan(p.getVersion()));
+	}
+
+	@Test
+	void lostVersionCheckIsRetried() {
+		AtomicInteger interference = new AtomicInteger();
+		ProposalService service = service(interfering(1, interference));
+
+		service.acceptProposal(proposals.get(0).getId());
+
+		assertThat(interference).hasValue(1);
+		assertThat(reload(proposals.get(0)).getStatus()).isEqualTo(ProposalStatus.ACCEPTED);
+	}
+
+	@Test
+	void givesUpAfterThreeLostAttempts() {
+		AtomicInteger interference = new AtomicInteger();
+		ProposalService service = service(interfering(Integer.MAX_VALUE, interference));
+
+		assertThatThrownBy(() -> service.acceptProposal(proposals.get(0).getId()))
+				.isInstanceOf(OptimisticLockingFailureException.class);
+
+		assertThat(interference).hasValue(3);
+		assertThat(reload(proposals.get(0)).getStatus()).isEqualTo(ProposalStatus.PENDING);
+	}
+
+	@Test
+	void onlyTheJobsClientOrAnAdminMayAccept() {
+		signInAs(userRepository.save(user("other@uep.edu.ph", UserRole.CLIENT)));
+		assertThatThrownBy(() -> service(proposalRepository).acceptProposal(proposals.get(0).getId()))
+				.isInstanceOf(AccessDeniedException.class);
+		assertThat(reload(proposals.get(0)).getStatus()).isEqualTo(ProposalStatus.PENDING);
+
+		signInAs(userRepository.save(user("admin@uep.edu.ph", UserRole.ADMIN)));
+		service(proposalRepository).acceptProposal(proposals.get(0).getId());
+		assertThat(reload(proposals.get(0)).getStatus()).isEqualTo(ProposalStatus.ACCEPTED);
+	}
+
+	@Test
+	void unknownProposalIsNotFound() {
+		assertThatThrownBy(() -> service(proposalRepository).acceptProposal(Long.MAX_VALUE))
+				.isInstanceOf(NoSuchElementException.class);
+	}
+
+	@Test
+	void proposalNoLongerPendingConflicts() {
+		Proposal withdrawn = proposals.get(0);
+		withdrawn.setStatus(ProposalStatus.WITHDRAWN);
+		proposalRepository.save(withdrawn);
+
+		assertThatThrownBy(() -> service(proposalRepository).acceptProposal(withdrawn.getId()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("no longer pending");
+	}
+
+	@Test
+	void jobNoLongerOpenConflicts() {
+		Job cancelled = jobRepository.findById(job.getId()).orElseThrow();
+		cancelled.setStatus(JobStatus.CANCELLED);
+		jobRepository.save(cancelled);
+
+		assertThatThrownBy(() -> service(proposalRepository).acceptProposal(proposals.get(0).getId()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("no longer open");
+	}
+
+	private ProposalService service(ProposalRepository repository) {
+		ProposalService service = new ProposalService();
+		ReflectionTestUtils.setField(service, "jpaProposalRepository", repository);
+		ReflectionTestUtils.setField(service, "jpaJobRepository", jobRepository);
+		ReflectionTestUtils.setField(service, "userRepository", userRepository);
+		ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) events::add);
+		return service;
+	}
+
+	// A repository whose findById lets another transaction update the job right after the
+	// accept has read it, the first `times` calls, so the accept's version check fails
+	private ProposalRepository interfering(int times, AtomicInteger count) {
+		TransactionTemplate other = new TransactionTemplate(transactionManager);
+		other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return (ProposalRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {ProposalRepository.class}, (proxy, method, args) -> {
+					Object result;
+					try {
+						result = method.invoke(proposalRepository, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+					if (method.getName().equals("findById") && count.get() < times) {
+						count.incrementAndGet();
+						// Load the job in this transaction first, so it holds the old version
+						((Optional<?>) result).ifPresent(p -> ((Proposal) p).getJob().getStatus());
+						other.executeWithoutResult(status -> {
+							Job current = jobRepository.findById(job.getId()).orElseThrow();
+							current.setTitle(current.getTitle() + " (edited)");
+						});
+					}
+					return result;
+				});
+	}
+
+	private Proposal reload(Proposal proposal) {
+		return proposalRepository.findById(proposal.getId()).orElseThrow();
+	}
+
+	private static void signInAs(User user) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new TestingAuthenticationToken(user.getEmail(), null, "ROLE_" + user.getRole().name()));
+	}
+
+	private static User user(String email, UserRole role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPassword("secret");
+		user.setFirstName("First");
+		user.setLastName("Last");
+		user.setRole(role);
+		user.setSkills("Web Development");
+		return user;
+	}
+}
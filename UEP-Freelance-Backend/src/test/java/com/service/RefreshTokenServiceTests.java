@@ -0,0 +1,134 @@
+package com.service;
+
+import com.model.RefreshToken;
+import com.model.User;
+import com.model.UserRole;
+import com.repository.RefreshTokenRepository;
+import com.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Refresh token rotation: each token is exchanged once, and anything suspicious ends
+ * the whole session, including its live access tokens.
+ */
+@DataJpaTest
+class RefreshTokenServiceTests {
+
+	// The application class lives outside com.*, so point the slice at the entities and repositories
+	@SpringBootConfiguration
+	@EntityScan(basePackageClasses = RefreshToken.class)
+	@EnableJpaRepositories(basePackageClasses = RefreshTokenRepository.class)
+	static class Config {
+	}
+
+	private static final long ACCESS_TTL = 900_000;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	private TokenRevocationList revocationList;
+
+	private RefreshTokenService service;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		revocationList = new TokenRevocationList(ACCESS_TTL, 1000);
+		service = new RefreshTokenService(refreshTokenRepository, revocationList, 1_209_600_000, ACCESS_TTL, 0);
+		user = new User();
+		user.setEmail("student@uep.edu.ph");
+		user.setPassword("secret");
+		user.setFirstName("First");
+		user.setLastName("Last");
+		user.setRole(UserRole.STUDENT);
+		user = entityManager.persist(user);
+	}
+
+	@Test
+	void rotationMarksOldTokenRotatedAndKeepsFamily() {
+		RefreshTokenService.Issued first = service.issue(user);
+
+		RefreshTokenService.Issued second = service.rotate(first.getToken());
+
+		assertThat(second.getToken()).isNotEqualTo(first.getToken());
+		assertThat(second.getFamilyId()).isEqualTo(first.getFamilyId());
+		assertThat(second.getUser().getId()).isEqualTo(user.getId());
+		RefreshToken old = reload(first.getToken());
+		assertThat(old.getRotatedAt()).isNotNull();
+		assertThat(old.getRevokedAt()).isNull();
+		assertThat(reload(second.getToken()).getRotatedAt()).isNull();
+		assertThat(revocationList.isRevoked(null, first.getFamilyId())).isFalse();
+	}
+
+	@Test
+	void reusingRotatedTokenRevokesFamilyAndBlocksSession() {
+		RefreshTokenService.Issued first = service.issue(user);
+		RefreshTokenService.Issued second = service.rotate(first.getToken());
+
+		assertThatThrownBy(() -> service.rotate(first.getToken()))
+				.isInstanceOf(BadCredentialsException.class)
+				.hasMessageContaining("reuse");
+
+		assertThat(reload(first.getToken()).getRevokedAt()).isNotNull();
+		assertThat(reload(second.getToken()).getRevokedAt()).isNotNull();
+		assertThat(revocationList.isRevoked("any-jti", first.getFamilyId())).isTrue();
+		// The legitimate successor is dead too
+		assertThatThrownBy(() -> service.rotate(second.getToken()))
+				.isInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void tokenVersionMismatchRevokesFamily() {
+		RefreshTokenService.Issued first = service.issue(user);
+		// A password change or forced logout bumps the version
+		user.setTokenVersion(user.getTokenVersion() + 1);
+		entityManager.flush();
+
+		assertThatThrownBy(() -> service.rotate(first.getToken()))
+				.isInstanceOf(BadCredentialsException.class)
+				.hasMessageContaining("no longer valid");
+
+		assertThat(reload(first.getToken()).getRevokedAt()).isNotNull();
+		assertThat(revocationList.isRevoked(null, first.getFamilyId())).isTrue();
+	}
+
+	@Test
+	void unknownTokenIsRejected() {
+		assertThatThrownBy(() -> service.rotate("not-a-token"))
+				.isInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void revokeEndsTheSession() {
+		RefreshTokenService.Issued first = service.issue(user);
+
+		service.revoke(first.getToken());
+
+		assertThat(reload(first.getToken()).getRevokedAt()).isNotNull();
+		assertThatThrownBy(() -> service.rotate(first.getToken()))
+				.isInstanceOf(BadCredentialsException.class)
+				.hasMessageContaining("revoked");
+	}
+
+	// The family revocation is a bulk UPDATE, so read past the persistence context
+	private RefreshToken reload(String rawToken) {
+		entityManager.flush();
+		entityManager.clear();
+		return refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(rawToken)).orElseThrow();
+	}
+}
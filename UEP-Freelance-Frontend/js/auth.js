@@ -1,8 +1,11 @@
 class AuthManager {
     constructor() {
         this.token = localStorage.getItem('authToken');
+        this.refreshTokenValue = localStorage.getItem('refreshToken');
         this.userData = JSON.parse(localStorage.getItem('userData') || 'null');
         this.apiBaseUrl = 'http://localhost:8080/api';
+        // In-flight refresh, shared so concurrent 401s trigger only one rotation
+        this.refreshPromise = null;
     }
 
     async login(email, password) {
@@ -17,10 +20,7 @@ class AuthManager {
 
             if (response.ok) {
                 const data = await response.json();
-                this.token = data.token;
-                this.userData = data;
-                localStorage.setItem('authToken', this.token);
-                localStorage.setItem('userData', JSON.stringify(data));
+                this.storeSession(data);
                 return { success: true, data };
             } else {
                 const error = await response.text();
@@ -55,13 +55,45 @@ class AuthManager {
         }
     }
 
-    logout() {
+    storeSession(data) {
+        this.token = data.token;
+        this.refreshTokenValue = data.refreshToken || null;
+        this.userData = data;
+        localStorage.setItem('authToken', this.token);
+        localStorage.setItem('userData', JSON.stringify(data));
+        if (this.refreshTokenValue) {
+            localStorage.setItem('refreshToken', this.refreshTokenValue);
+        } else {
+            localStorage.removeItem('refreshToken');
+        }
+    }
+
+    clearSession() {
         this.token = null;
+        this.refreshTokenValue = null;
         this.userData = null;
         localStorage.removeItem('authToken');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('userData');
     }
 
+    logout() {
+        // Revoke the refresh session and the current access token server-side; the
+        // local session is cleared either way
+        if (this.token || this.refreshTokenValue) {
+            const headers = { 'Content-Type': 'application/json' };
+            if (this.token) {
+                headers['Authorization'] = `Bearer ${this.token}`;
+            }
+            fetch(`${this.apiBaseUrl}/auth/logout`, {
+                method: 'POST',
+                headers,
+                body: JSON.stringify({ refreshToken: this.refreshTokenValue })
+            }).catch(error => console.error('Logout error:', error));
+        }
+        this.clearSession();
+    }
+
     isAuthenticated() {
         return this.token !== null;
     }
@@ -85,9 +117,60 @@ class AuthManager {
         };
     }
 
+    // Trades the refresh token for a new token pair. Resolves to true on success; a
+    // rejected refresh token ends the session
     async refreshToken() {
-        // Implement token refresh logic if needed
-        console.log('Token refresh would happen here');
+        if (!this.refreshTokenValue) {
+            return false;
+        }
+        if (!this.refreshPromise) {
+            this.refreshPromise = this.doRefresh().finally(() => {
+                this.refreshPromise = null;
+            });
+        }
+        return this.refreshPromise;
+    }
+
+    async doRefresh() {
+        try {
+            const response = await fetch(`${this.apiBaseUrl}/auth/refresh`, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                },
+                body: JSON.stringify({ refreshToken: this.refreshTokenValue })
+            });
+
+            if (response.ok) {
+                this.storeSession(await response.json());
+                return true;
+            }
+            if (response.status === 401) {
+                this.clearSession();
+            }
+            return false;
+        } catch (error) {
+            console.error('Token refresh error:', error);
+            return false;
+        }
+    }
+
+    // fetch with the bearer token; on a 401 the token pair is refreshed and the
+    // request retried once
+    async authFetch(url, options = {}) {
+        const send = () => fetch(url, {
+            ...options,
+            headers: {
+                ...(options.headers || {}),
+                'Authorization': `Bearer ${this.token}`
+            }
+        });
+
+        const response = await send();
+        if (response.status !== 401 || !(await this.refreshToken())) {
+            return response;
+        }
+        return send();
     }
 
     validateUEPEmail(email) {
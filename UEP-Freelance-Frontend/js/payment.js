@@ -5,12 +5,10 @@ class PaymentsManager {
 
     async createEscrowPayment(jobId, amount, method) {
         try {
-            const token = localStorage.getItem('authToken');
-            const response = await fetch(`${this.apiBaseUrl}/payments/escrow`, {
+            const response = await authManager.authFetch(`${this.apiBaseUrl}/payments/escrow`, {
                 method: 'POST',
                 headers: {
-                    'Content-Type': 'application/json',
-                    'Authorization': `Bearer ${token}`
+                    'Content-Type': 'application/json'
                 },
                 body: JSON.stringify({
                     jobId,
@@ -31,12 +29,8 @@ class PaymentsManager {
 
     async releasePayment(paymentId) {
         try {
-            const token = localStorage.getItem('authToken');
-            const response = await fetch(`${this.apiBaseUrl}/payments/${paymentId}/release`, {
-                method: 'POST',
-                headers: {
-                    'Authorization': `Bearer ${token}`
-                }
+            const response = await authManager.authFetch(`${this.apiBaseUrl}/payments/${paymentId}/release`, {
+                method: 'POST'
             });
 
             if (response.ok) {
@@ -51,12 +45,8 @@ class PaymentsManager {
 
     async refundPayment(paymentId) {
         try {
-            const token = localStorage.getItem('authToken');
-            const response = await fetch(`${this.apiBaseUrl}/payments/${paymentId}/refund`, {
-                method: 'POST',
-                headers: {
-                    'Authorization': `Bearer ${token}`
-                }
+            const response = await authManager.authFetch(`${this.apiBaseUrl}/payments/${paymentId}/refund`, {
+                method: 'POST'
             });
 
             if (response.ok) {
@@ -95,12 +85,7 @@ class PaymentsManager {
 
     async getPaymentStatus(paymentId) {
         try {
-            const token = localStorage.getItem('authToken');
-            const response = await fetch(`${this.apiBaseUrl}/payments/${paymentId}`, {
-                headers: {
-                    'Authorization': `Bearer ${token}`
-                }
-            });
+            const response = await authManager.authFetch(`${this.apiBaseUrl}/payments/${paymentId}`);
 
             if (response.ok) {
                 return await response.json();